@@ -0,0 +1,62 @@
+package finance.tracker.benchmark;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Expenses by category, the dashboard's chart data: the stream grouping the dashboard
+ * used to run over a list of transactions, against the same sum over the columnar
+ * {@link TransactionBatch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class AggregationBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int rows;
+
+    private List<BaseTransaction> transactions;
+    private TransactionBatch batch;
+
+    @Setup
+    public void setUp() {
+        Datasets.Columns columns = Datasets.columns(rows);
+        transactions = Datasets.transactions(columns);
+        batch = Datasets.batch(columns);
+    }
+
+    @Benchmark
+    public Map<String, Long> streamGrouping() {
+        return transactions.stream()
+                .filter(tx -> tx.getType() == TransactionType.EXPENSE)
+                .collect(Collectors.groupingBy(tx -> tx.getCategory().getCategoryName(),
+                        Collectors.summingLong(BaseTransaction::getAmountMinor)));
+    }
+
+    @Benchmark
+    public long[] batchSumByCategory() {
+        long[] totals = new long[batch.categoryCount()];
+        batch.sumByCategory(TransactionType.EXPENSE, Integer.MIN_VALUE, Integer.MAX_VALUE, totals);
+        return totals;
+    }
+}
@@ -0,0 +1,58 @@
+package finance.tracker.benchmark;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.repository.TransactionDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning result rows into objects in {@link TransactionDAO}: the list-building
+ * read, the streaming cursor read and the columnar {@link TransactionBatch} load, all
+ * over the same {@link StandInDataSource} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class DaoHydrationBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int rows;
+
+    private TransactionDAO dao;
+
+    @Setup
+    public void setUp() {
+        dao = new TransactionDAO(new StandInDataSource(Datasets.columns(rows)));
+    }
+
+    @Benchmark
+    public List<BaseTransaction> getAllByUser() {
+        return dao.getAllByUser(Datasets.USER_ID);
+    }
+
+    @Benchmark
+    public void forEachByUser(Blackhole bh) {
+        dao.forEachByUser(Datasets.USER_ID, bh::consume);
+    }
+
+    @Benchmark
+    public TransactionBatch loadBatch() {
+        return dao.loadBatch(Datasets.USER_ID, null, null);
+    }
+}
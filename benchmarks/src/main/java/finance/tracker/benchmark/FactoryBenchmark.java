@@ -0,0 +1,45 @@
+package finance.tracker.benchmark;
+
+import finance.tracker.model.TransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link TransactionFactory#createTransaction} over a whole dataset, as the DAO calls it per row. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class FactoryBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int rows;
+
+    private Datasets.Columns columns;
+
+    @Setup
+    public void setUp() {
+        columns = Datasets.columns(rows);
+    }
+
+    @Benchmark
+    public void createTransaction(Blackhole bh) {
+        Datasets.Columns c = columns;
+        for (int i = 0; i < c.size; i++) {
+            bh.consume(TransactionFactory.createTransaction(c.type(i), c.amounts[i], c.category(i),
+                    c.description(i), c.date(i), Datasets.USER_ID));
+        }
+    }
+}
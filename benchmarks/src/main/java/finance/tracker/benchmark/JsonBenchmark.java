@@ -0,0 +1,70 @@
+package finance.tracker.benchmark;
+
+import com.google.gson.Gson;
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.repository.WebServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson with {@link WebServer}'s configuration: one transaction each way, as on
+ * {@code POST /transactions}, and a whole dataset each way, as on the bulk and listing
+ * routes. 10M rows make a JSON string of over 1 GB, so that size is opt-in with
+ * {@code -p rows=10000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class JsonBenchmark {
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private final Gson gson = WebServer.createGson();
+    private List<BaseTransaction> transactions;
+    private BaseTransaction one;
+    private String oneJson;
+    private String allJson;
+
+    @Setup
+    public void setUp() {
+        transactions = Datasets.transactions(Datasets.columns(rows));
+        one = transactions.get(0);
+        oneJson = gson.toJson(one);
+        allJson = gson.toJson(transactions);
+    }
+
+    @Benchmark
+    public String serializeOne() {
+        return gson.toJson(one);
+    }
+
+    @Benchmark
+    public BaseTransaction deserializeOne() {
+        return gson.fromJson(oneJson, BaseTransaction.class);
+    }
+
+    @Benchmark
+    public String serializeAll() {
+        return gson.toJson(transactions);
+    }
+
+    @Benchmark
+    public BaseTransaction[] deserializeAll() {
+        return gson.fromJson(allJson, BaseTransaction[].class);
+    }
+}
@@ -0,0 +1,60 @@
+package finance.tracker.benchmark;
+
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.service.ReportEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link ReportEngine}: the month × category × type cube over the whole
+ * ten-year dataset, split across {@code parallelism} workers. Compare the scores for one
+ * row count to read off the speedup; past the physical core count expect it to flatten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ReportEngineBenchmark {
+    private static final YearMonth FIRST = YearMonth.from(Datasets.START);
+    private static final int MONTHS = Datasets.DAYS / 365 * 12;
+
+    @Param({"100000", "10000000"})
+    public int rows;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private TransactionBatch batch;
+    private ReportEngine engine;
+
+    @Setup
+    public void setUp() {
+        batch = Datasets.batch(Datasets.columns(rows));
+        engine = new ReportEngine(null, parallelism, ReportEngine.DEFAULT_MIN_ROWS_PER_TASK);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public ReportEngine.Report compute() {
+        return engine.compute(batch, FIRST, MONTHS);
+    }
+}
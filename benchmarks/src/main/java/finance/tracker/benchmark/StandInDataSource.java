@@ -0,0 +1,106 @@
+package finance.tracker.benchmark;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * Database stand-in for measuring DAO row hydration without PostgreSQL: every query,
+ * whatever its SQL, answers with all rows of one {@link Datasets.Columns} under the
+ * column labels of {@code TransactionDAO}'s category join. Statement parameters are
+ * accepted and ignored.
+ *
+ * <p>Calls go through dynamic proxies, which adds a fixed cost per column read. Compare
+ * runs of these benchmarks with each other, not with timings against a real database.
+ */
+final class StandInDataSource implements DataSource {
+    private final Datasets.Columns rows;
+
+    StandInDataSource(Datasets.Columns rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement();
+            case "getAutoCommit", "isClosed" -> false;
+            case "isValid" -> true;
+            default -> defaultValue(method); // setAutoCommit, rollback, commit, close
+        });
+    }
+
+    private PreparedStatement statement() {
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> resultSet();
+            case "isClosed" -> false;
+            default -> defaultValue(method); // parameter setters, setFetchSize, close
+        });
+    }
+
+    private ResultSet resultSet() {
+        int[] row = {-1};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            if (method.getName().equals("next")) return ++row[0] < rows.size;
+            if (args == null || args.length != 1 || !(args[0] instanceof String label)) return defaultValue(method);
+            int i = row[0];
+            return switch (label) {
+                case "id" -> rows.ids[i];
+                case "type" -> rows.type(i).name();
+                case "amount_minor" -> rows.amounts[i];
+                case "description" -> rows.description(i);
+                case "date" -> Date.valueOf(rows.date(i));
+                case "user_id", "category_user_id" -> Datasets.USER_ID;
+                case "category_id" -> rows.category(i).getCategoryId();
+                case "category_name" -> rows.category(i).getCategoryName();
+                case "category_type" -> rows.category(i).getTransactionType().name();
+                default -> throw new SQLException("Unknown column " + label);
+            };
+        });
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    @Override public PrintWriter getLogWriter() { return null; }
+    @Override public void setLogWriter(PrintWriter out) {}
+    @Override public void setLoginTimeout(int seconds) {}
+    @Override public int getLoginTimeout() { return 0; }
+    @Override public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
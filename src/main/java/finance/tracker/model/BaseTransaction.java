@@ -3,23 +3,27 @@ package finance.tracker.model;
 import java.time.LocalDate;
 
 public class BaseTransaction implements Transaction {
+    private int id; // 0 until persisted
     private TransactionType type;
-    private double amount;
+    private long amountMinor; // cents
     private Category category;
     private String description;
     private LocalDate date;
     private int userId;
 
-     public BaseTransaction(TransactionType type, double amount, Category category, String description, LocalDate date, int userId) {
+     public BaseTransaction(TransactionType type, long amountMinor, Category category, String description, LocalDate date, int userId) {
         this.type = type;
-        this.amount = amount;
+        this.amountMinor = amountMinor;
         this.category = category;
         this.description = description;
         this.date = date;
         this.userId = userId;
     }
 
-    @Override public double getAmount() { return amount; }
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    @Override public long getAmountMinor() { return amountMinor; }
     @Override public Category getCategory() { return category; }
     @Override public String getDescription() { return description; }
     @Override public LocalDate getDate() { return date; }
@@ -29,20 +33,20 @@ public class BaseTransaction implements Transaction {
     @Override
     public void process() {
         if (type == TransactionType.INCOME) {
-            System.out.println("✅ Income of $" + amount + " processed.");
+            System.out.println("✅ Income of $" + Money.format(amountMinor) + " processed.");
         } else {
-            System.out.println("💸 Expense of $" + amount + " processed.");
+            System.out.println("💸 Expense of $" + Money.format(amountMinor) + " processed.");
         }
     }
 
     @Override
     public boolean validate() {
-        return amount > 0 && category != null && category.getCategoryId() !=0;
+        return amountMinor > 0 && category != null && category.getCategoryId() !=0;
     }
 
     @Override
     public String summary() {
-        return "[" + type + "] $" + amount + " - " + category + " | " + description + " on " + date;
+        return "[" + type + "] $" + Money.format(amountMinor) + " - " + category + " | " + description + " on " + date;
     }
 }
 
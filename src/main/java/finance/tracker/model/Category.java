@@ -1,10 +1,15 @@
 package finance.tracker.model;
 
-public class Category {
-    private int categoryId;
-    private String categoryName;
-    private TransactionType transactionType;
-    private int userId;
+/**
+ * Immutable; persisted categories are shared process-wide through
+ * {@code CategoryRegistry}, so one id maps to one instance. Edits go through the
+ * {@code with*} copies and a DAO update.
+ */
+public final class Category {
+    private final int categoryId;
+    private final String categoryName;
+    private final TransactionType transactionType;
+    private final int userId;
 
     public Category(int categoryId, String categoryName, TransactionType transactionType, int userId) {
         this.categoryId = categoryId;
@@ -17,33 +22,31 @@ public class Category {
         return categoryId;
     }
 
-    public void setCategoryId(int categoryId) {
-        this.categoryId = categoryId;
-    }
-
     public String getCategoryName() {
         return categoryName;
     }
 
-    public void setCategoryName(String categoryName) {
-        this.categoryName = categoryName;
-    }
-
     public TransactionType getTransactionType() {
         return transactionType;
     }
 
-    public void setTransactionType(TransactionType transactionType) {
-        this.transactionType = transactionType;
-    }
-
     public int getUserId() {
         return userId;
     }
 
-    public void setUserId(int userId) {
-        this.userId = userId;
+    public Category withName(String name) {
+        return new Category(categoryId, name, transactionType, userId);
+    }
+
+    public Category withTransactionType(TransactionType type) {
+        return new Category(categoryId, categoryName, type, userId);
     }
+
+    /** True when every field matches; the registry uses it to decide whether a row changed. */
+    public boolean sameAs(int id, String name, TransactionType type, int ownerId) {
+        return categoryId == id && transactionType == type && userId == ownerId && categoryName.equals(name);
+    }
+
     @Override
     public String toString() {
         return categoryName; // Or format like: name + " (" + type + ")"
@@ -0,0 +1,8 @@
+package finance.tracker.model;
+
+/** Result of one row in a bulk insert, reported in input order. */
+public enum InsertOutcome {
+    INSERTED,
+    INVALID,  // rejected by service validation, never sent to the database
+    FAILED    // rejected by the database (constraint violation, bad category, ...)
+}
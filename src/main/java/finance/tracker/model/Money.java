@@ -0,0 +1,40 @@
+package finance.tracker.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amounts are carried as {@code long} minor units (cents) so sums are exact and
+ * aggregation loops stay on primitives. These helpers convert at the edges: user
+ * input, the NUMERIC(12, 2) columns and display.
+ */
+public final class Money {
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /** Parses a decimal string such as {@code "12.3"} or {@code "-4.50"} into minor units. */
+    public static long parse(String text) {
+        try {
+            return fromBigDecimal(new BigDecimal(text.trim()));
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount must have at most " + SCALE + " decimal places: " + text);
+        }
+    }
+
+    /** Exact conversion; throws {@link ArithmeticException} if {@code value} has more than two decimals. */
+    public static long fromBigDecimal(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /** Plain decimal text, e.g. {@code 1234 -> "12.34"}, {@code -5 -> "-0.05"}. */
+    public static String format(long minor) {
+        long abs = Math.abs(minor);
+        long cents = abs % 100;
+        return (minor < 0 ? "-" : "") + abs / 100 + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
@@ -0,0 +1,14 @@
+package finance.tracker.model;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+
+/** Dashboard figures for one month: totals per type and expenses per category name. */
+public record MonthlySummary(YearMonth month, BigDecimal income, BigDecimal expense,
+                             Map<String, BigDecimal> expenseByCategory) {
+
+    public BigDecimal net() {
+        return income.subtract(expense);
+    }
+}
@@ -1,9 +1,11 @@
 package finance.tracker.model;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public interface Transaction {
-    double getAmount();
+    /** Amount in minor units (cents); always positive, the type carries the direction. */
+    long getAmountMinor();
     Category getCategory();
     String getDescription();
     LocalDate getDate();
@@ -14,11 +16,16 @@ public interface Transaction {
     boolean validate();   // E.g., is amount > 0, category not empty
     String summary();     // E.g., print one-line summary
 
+    /** Exact decimal view of the amount, for display. */
+    default BigDecimal getAmount() {
+        return Money.toBigDecimal(getAmountMinor());
+    }
+
     // Default method
     default void printReceipt() {
         System.out.println("🧾 Transaction Receipt");
         System.out.println("Type: " + getType());
-        System.out.println("Amount: $" + getAmount());
+        System.out.println("Amount: $" + Money.format(getAmountMinor()));
         System.out.println("Category: " + getCategory());
         System.out.println("Date: " + getDate());
         System.out.println("Description: " + getDescription());
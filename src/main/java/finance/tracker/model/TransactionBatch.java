@@ -0,0 +1,284 @@
+package finance.tracker.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented, read-only block of transactions for analytics. Each attribute is a
+ * primitive array indexed by row; categories and descriptions are dictionary-encoded
+ * (a row stores a small int code), so group-by-category is a plain array index. Rows
+ * are sorted by (date, id) ascending, which lets date-range kernels binary-search
+ * their bounds.
+ *
+ * <p>Apart from {@link #rowsByAmount()}, the kernels never allocate: results go into
+ * caller-supplied arrays.
+ */
+public final class TransactionBatch {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final byte INCOME = (byte) TransactionType.INCOME.ordinal();
+
+    private final int size;
+    private final int[] ids;
+    private final long[] amounts;       // minor units
+    private final int[] days;           // LocalDate.toEpochDay()
+    private final int[] categoryCodes;  // index into categories
+    private final byte[] types;         // TransactionType ordinal
+    private final int[] descriptionCodes;
+    private final Category[] categories;
+    private final String[] descriptions;
+
+    private TransactionBatch(Builder b) {
+        size = b.size;
+        ids = Arrays.copyOf(b.ids, size);
+        amounts = Arrays.copyOf(b.amounts, size);
+        days = Arrays.copyOf(b.days, size);
+        categoryCodes = Arrays.copyOf(b.categoryCodes, size);
+        types = Arrays.copyOf(b.types, size);
+        descriptionCodes = Arrays.copyOf(b.descriptionCodes, size);
+        categories = b.categoryDict.toArray(new Category[0]);
+        descriptions = b.descriptionDict.toArray(new String[0]);
+    }
+
+    /* ================= ROW ACCESS ================= */
+
+    public int size() { return size; }
+    public int id(int row) { return ids[row]; }
+    public long amountMinor(int row) { return amounts[row]; }
+    public int epochDay(int row) { return days[row]; }
+    public LocalDate date(int row) { return LocalDate.ofEpochDay(days[row]); }
+    public TransactionType type(int row) { return TYPES[types[row]]; }
+    public int categoryCode(int row) { return categoryCodes[row]; }
+    public Category category(int row) { return categories[categoryCodes[row]]; }
+    public String description(int row) { return descriptions[descriptionCodes[row]]; }
+
+    /** Number of distinct categories; valid category codes are {@code 0 .. categoryCount() - 1}. */
+    public int categoryCount() { return categories.length; }
+    public Category categoryForCode(int code) { return categories[code]; }
+
+    /** Code of the category with this id, or -1 if no row uses it. */
+    public int codeOf(int categoryId) {
+        for (int c = 0; c < categories.length; c++) {
+            if (categories[c].getCategoryId() == categoryId) return c;
+        }
+        return -1;
+    }
+    public int distinctDescriptions() { return descriptions.length; }
+
+    /* ================= KERNELS ================= */
+
+    /** First row with {@code epochDay >= day}. */
+    public int lowerBound(int day) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Sum of {@code type} amounts with {@code fromDay <= epochDay < toDay}. */
+    public long sum(TransactionType type, int fromDay, int toDay) {
+        byte t = (byte) type.ordinal();
+        long total = 0;
+        for (int i = lowerBound(fromDay), end = lowerBound(toDay); i < end; i++) {
+            if (types[i] == t) total += amounts[i];
+        }
+        return total;
+    }
+
+    /** Adds {@code type} amounts in {@code [fromDay, toDay)} to {@code totals[categoryCode]}. */
+    public void sumByCategory(TransactionType type, int fromDay, int toDay, long[] totals) {
+        byte t = (byte) type.ordinal();
+        for (int i = lowerBound(fromDay), end = lowerBound(toDay); i < end; i++) {
+            if (types[i] == t) totals[categoryCodes[i]] += amounts[i];
+        }
+    }
+
+    /**
+     * Adds income into {@code income[m]} and expense into {@code expense[m]}, where
+     * {@code m} counts months from {@code firstMonth}. Rows outside the arrays are skipped.
+     * Month boundaries are computed once per month, not per row.
+     */
+    public void sumByMonth(YearMonth firstMonth, long[] income, long[] expense) {
+        int months = Math.min(income.length, expense.length);
+        int i = lowerBound((int) firstMonth.atDay(1).toEpochDay());
+        for (int m = 0; m < months && i < size; m++) {
+            int end = lowerBound((int) firstMonth.plusMonths(m + 1).atDay(1).toEpochDay());
+            for (; i < end; i++) {
+                if (types[i] == INCOME) income[m] += amounts[i];
+                else expense[m] += amounts[i];
+            }
+        }
+    }
+
+    /**
+     * Adds rows {@code [fromRow, toRow)} into a month × category × type cube laid out as
+     * {@code cube[((month * categoryCount()) + categoryCode) * 2 + typeOrdinal]}, where
+     * {@code month} counts from {@code firstMonth}. Rows outside the {@code months}
+     * window are skipped. Works on any row slice, so callers can split the batch
+     * across threads and add the cubes together.
+     */
+    public void accumulate(int fromRow, int toRow, YearMonth firstMonth, int months, long[] cube) {
+        int stride = categories.length * 2;
+        int firstDay = (int) firstMonth.atDay(1).toEpochDay();
+        int i = Math.max(fromRow, lowerBound(firstDay));
+        if (i >= toRow) return;
+
+        YearMonth current = YearMonth.from(LocalDate.ofEpochDay(days[i]));
+        int m = (current.getYear() - firstMonth.getYear()) * 12 + current.getMonthValue() - firstMonth.getMonthValue();
+        int nextBoundary = (int) current.plusMonths(1).atDay(1).toEpochDay();
+        for (; i < toRow; i++) {
+            while (days[i] >= nextBoundary) {
+                m++;
+                current = current.plusMonths(1);
+                nextBoundary = (int) current.plusMonths(1).atDay(1).toEpochDay();
+            }
+            if (m >= months) return;
+            cube[m * stride + categoryCodes[i] * 2 + types[i]] += amounts[i];
+        }
+    }
+
+    /**
+     * Writes the indexes of rows matching every given criterion into {@code out} and
+     * returns how many were written. Pass null type or a negative category code to
+     * match any; stops when {@code out} is full.
+     */
+    public int filter(TransactionType type, int categoryCode, int fromDay, int toDay, int[] out) {
+        int n = 0;
+        byte t = type == null ? -1 : (byte) type.ordinal();
+        for (int i = lowerBound(fromDay), end = lowerBound(toDay); i < end && n < out.length; i++) {
+            if ((t < 0 || types[i] == t) && (categoryCode < 0 || categoryCodes[i] == categoryCode)) {
+                out[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Same as {@link #filter(TransactionType, int, int, int, int[])} but visits rows in the
+     * given order, e.g. {@link #rowsByAmount()}, so the output keeps that order. The date
+     * bounds can't be binary-searched here, so this is a full pass over {@code order}.
+     */
+    public int filter(int[] order, TransactionType type, int categoryCode, int fromDay, int toDay, int[] out) {
+        int n = 0;
+        byte t = type == null ? -1 : (byte) type.ordinal();
+        for (int k = 0; k < order.length && n < out.length; k++) {
+            int i = order[k];
+            if (days[i] >= fromDay && days[i] < toDay
+                    && (t < 0 || types[i] == t) && (categoryCode < 0 || categoryCodes[i] == categoryCode)) {
+                out[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    /** Row indexes ordered by (amount, id) ascending. Allocates; compute once per batch. */
+    public int[] rowsByAmount() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) rows[i] = i;
+        sortByAmount(rows, new int[size], 0, size);
+        return rows;
+    }
+
+    /** Merge sort straight on the int row indexes, so no row is boxed. */
+    private void sortByAmount(int[] rows, int[] scratch, int from, int to) {
+        if (to - from <= 16) {
+            for (int k = from + 1; k < to; k++) {
+                int row = rows[k], j = k;
+                for (; j > from && before(row, rows[j - 1]); j--) rows[j] = rows[j - 1];
+                rows[j] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortByAmount(rows, scratch, from, mid);
+        sortByAmount(rows, scratch, mid, to);
+        if (!before(rows[mid], rows[mid - 1])) return; // halves already in order
+        System.arraycopy(rows, from, scratch, from, to - from);
+        for (int i = from, j = mid, k = from; k < to; k++) {
+            rows[k] = j == to || (i < mid && !before(scratch[j], scratch[i])) ? scratch[i++] : scratch[j++];
+        }
+    }
+
+    private boolean before(int a, int b) {
+        return amounts[a] < amounts[b] || (amounts[a] == amounts[b] && ids[a] < ids[b]);
+    }
+
+    /* ================= BUILDER ================= */
+
+    /** Accumulates rows in (date, id) order, e.g. straight from a ResultSet. */
+    public static final class Builder {
+        private int size;
+        private int[] ids;
+        private long[] amounts;
+        private int[] days;
+        private int[] categoryCodes;
+        private byte[] types;
+        private int[] descriptionCodes;
+        private final Map<Integer, Integer> categoryIndex = new HashMap<>();
+        private final List<Category> categoryDict = new ArrayList<>();
+        private final Map<String, Integer> descriptionIndex = new HashMap<>();
+        private final List<String> descriptionDict = new ArrayList<>();
+
+        public Builder() {
+            this(1024);
+        }
+
+        public Builder(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            ids = new int[capacity];
+            amounts = new long[capacity];
+            days = new int[capacity];
+            categoryCodes = new int[capacity];
+            types = new byte[capacity];
+            descriptionCodes = new int[capacity];
+        }
+
+        /**
+         * Appends one row. {@code category} is only consulted the first time its id is seen.
+         *
+         * @throws IllegalArgumentException if rows arrive out of (date, id) order
+         */
+        public Builder add(int id, TransactionType type, long amountMinor, int epochDay, Category category, String description) {
+            if (size > 0 && (epochDay < days[size - 1] || epochDay == days[size - 1] && id < ids[size - 1])) {
+                throw new IllegalArgumentException("Rows must be added in (date, id) order");
+            }
+            if (size == ids.length) grow();
+            ids[size] = id;
+            types[size] = (byte) type.ordinal();
+            amounts[size] = amountMinor;
+            days[size] = epochDay;
+            categoryCodes[size] = categoryIndex.computeIfAbsent(category.getCategoryId(), k -> {
+                categoryDict.add(category);
+                return categoryDict.size() - 1;
+            });
+            String text = description == null ? "" : description;
+            descriptionCodes[size] = descriptionIndex.computeIfAbsent(text, k -> {
+                descriptionDict.add(k);
+                return descriptionDict.size() - 1;
+            });
+            size++;
+            return this;
+        }
+
+        public TransactionBatch build() {
+            return new TransactionBatch(this);
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            days = Arrays.copyOf(days, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+            types = Arrays.copyOf(types, capacity);
+            descriptionCodes = Arrays.copyOf(descriptionCodes, capacity);
+        }
+    }
+}
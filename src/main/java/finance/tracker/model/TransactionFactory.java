@@ -4,7 +4,7 @@ import java.time.LocalDate;
 
 public class TransactionFactory {
 
-    public static BaseTransaction createTransaction(TransactionType type, double amount, Category category, String description, LocalDate date, int userId) {
-        return new BaseTransaction(type, amount, category, description, date, userId);
+    public static BaseTransaction createTransaction(TransactionType type, long amountMinor, Category category, String description, LocalDate date, int userId) {
+        return new BaseTransaction(type, amountMinor, category, description, date, userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package finance.tracker.model;
+
+import java.time.LocalDate;
+
+/**
+ * Optional predicates for transaction queries; a {@code null} component means "any".
+ * Date bounds are inclusive.
+ */
+public record TransactionFilter(TransactionType type, Integer categoryId, LocalDate from, LocalDate to) {
+    public static final TransactionFilter NONE = new TransactionFilter(null, null, null, null);
+}
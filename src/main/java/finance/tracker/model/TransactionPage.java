@@ -0,0 +1,19 @@
+package finance.tracker.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One page of transactions ordered by (date, id) descending. {@code next} is the
+ * key of the last row and is passed back to fetch the following page; it is
+ * {@code null} on the last page.
+ */
+public record TransactionPage(List<BaseTransaction> items, Key next) {
+
+    /** Seek position: rows strictly after this (date, id) in descending order. */
+    public record Key(LocalDate date, int id) {}
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,31 @@
+package finance.tracker.model;
+
+/** Orders the database can serve from an index; ties are always broken by id in the same direction. */
+public enum TransactionSort {
+    DATE_DESC, DATE_ASC, AMOUNT_DESC, AMOUNT_ASC;
+
+    /** A row's position in one of these orders: epoch day or amount in minor units, then id. */
+    public record Key(long value, int id) {}
+
+    public boolean descending() {
+        return this == DATE_DESC || this == AMOUNT_DESC;
+    }
+
+    public boolean byDate() {
+        return this == DATE_DESC || this == DATE_ASC;
+    }
+
+    /** The same order walked from the other end. */
+    public TransactionSort reversed() {
+        return switch (this) {
+            case DATE_DESC -> DATE_ASC;
+            case DATE_ASC -> DATE_DESC;
+            case AMOUNT_DESC -> AMOUNT_ASC;
+            case AMOUNT_ASC -> AMOUNT_DESC;
+        };
+    }
+
+    public Key keyOf(BaseTransaction tx) {
+        return new Key(byDate() ? tx.getDate().toEpochDay() : tx.getAmountMinor(), tx.getId());
+    }
+}
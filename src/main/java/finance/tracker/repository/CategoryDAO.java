@@ -3,22 +3,28 @@ package finance.tracker.repository;
 import finance.tracker.model.Category;
 import finance.tracker.model.TransactionType;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CategoryDAO {
-    private final Connection conn;
+    private final DataSource dataSource;
+
+    public CategoryDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
 
     public CategoryDAO(Connection conn) {
-        this.conn = conn;
+        this(new SingleConnectionDataSource(conn));
     }
 
     public List<Category> getAllByUser(int userId) {
         List<Category> list = new ArrayList<>();
-        String sql = "SELECT id, name, type FROM category WHERE user_id = ? OR user_id IS NULL";
+        String sql = "SELECT id, name, type, user_id FROM category WHERE user_id = ? OR user_id IS NULL";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
 
@@ -26,7 +32,7 @@ public class CategoryDAO {
                 int id = rs.getInt("id");
                 String name = rs.getString("name");
                 TransactionType type = TransactionType.valueOf(rs.getString("type"));
-                list.add(new Category(id, name, type, userId));
+                list.add(CategoryRegistry.intern(id, name, type, rs.getInt("user_id")));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -38,21 +44,17 @@ public class CategoryDAO {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT id, name, type, user_id FROM category WHERE user_id IS NULL OR user_id = ?";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
-                Integer userIdFromDb = null;
-                if (!rs.wasNull()) {
-                    userIdFromDb = rs.getInt("user_id");
-                }
-
-                categories.add(new Category(
+                categories.add(CategoryRegistry.intern(
                         rs.getInt("id"),
                         rs.getString("name"),
                         TransactionType.valueOf(rs.getString("type")),
-                        userIdFromDb
+                        rs.getInt("user_id") // 0 for shared categories
                 ));
             }
         } catch (SQLException e) {
@@ -63,7 +65,8 @@ public class CategoryDAO {
 
     public Category findByNameAndUserId(Category category, int userId) {
         String sql = "SELECT id, name, type, user_id FROM category WHERE name = ? AND user_id = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, category.getCategoryName());
             stmt.setInt(2, userId);
@@ -75,7 +78,7 @@ public class CategoryDAO {
                 TransactionType type = TransactionType.valueOf(rs.getString("type"));
                 int userID = rs.getInt("user_id");
 
-                return new Category(id, categoryName, type, userID);
+                return CategoryRegistry.intern(id, categoryName, type, userID);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -85,14 +88,15 @@ public class CategoryDAO {
 
     public Category getById(int categoryId) {
         String sql = "SELECT id, name, type, user_id FROM category WHERE id = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, categoryId);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
                 String name = rs.getString("name");
                 TransactionType type = TransactionType.valueOf(rs.getString("type"));
                 int userId = rs.getInt("user_id");
-                return new Category(categoryId, name, type, userId);
+                return CategoryRegistry.intern(categoryId, name, type, userId);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -102,7 +106,8 @@ public class CategoryDAO {
 
     public boolean insertCategory(Category category) {
         String sql = "INSERT INTO category (name, type, user_id) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, category.getCategoryName());
             stmt.setString(2, category.getTransactionType().name());
             stmt.setInt(3, category.getUserId());
@@ -116,7 +121,8 @@ public class CategoryDAO {
 
     public Category findByNameTypeAndUserId(String name, TransactionType type, int userId) {
         String sql = "SELECT id, name, type, user_id FROM category WHERE name = ? AND type = ? AND user_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, name);
             ps.setString(2, type.name());
             ps.setInt(3, userId);
@@ -126,7 +132,7 @@ public class CategoryDAO {
                     String categoryName = rs.getString("name");
                     TransactionType transactionType = TransactionType.valueOf(rs.getString("type"));
                     int uid = rs.getInt("user_id");
-                    return new Category(id, categoryName, transactionType, uid);
+                    return CategoryRegistry.intern(id, categoryName, transactionType, uid);
                 }
             }
         } catch (SQLException e) {
@@ -137,12 +143,14 @@ public class CategoryDAO {
 
     public boolean updateCategory(Category category) {
         String sql = "UPDATE category SET name = ?, type = ? WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, category.getCategoryName());
             ps.setString(2, category.getTransactionType().name());
             ps.setInt(3, category.getCategoryId());
 
             int affectedRows = ps.executeUpdate();
+            if (affectedRows > 0) CategoryRegistry.intern(category);
             return affectedRows > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -152,9 +160,11 @@ public class CategoryDAO {
 
     public boolean deleteCategory(int categoryId) {
         String sql = "DELETE FROM category WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, categoryId);
             int affectedRows = ps.executeUpdate();
+            if (affectedRows > 0) CategoryRegistry.forget(categoryId);
             return affectedRows > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -0,0 +1,46 @@
+package finance.tracker.repository;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.TransactionType;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide flyweight pool of persisted categories: every DAO hydrates categories
+ * through {@link #intern}, so all loaded transactions share one {@link Category} per
+ * id and can compare categories by identity. When a row comes back with different
+ * values (renamed here or in another process) the canonical instance is replaced.
+ */
+public final class CategoryRegistry {
+    private static final ConcurrentHashMap<Integer, Category> CANONICAL = new ConcurrentHashMap<>();
+
+    private CategoryRegistry() {}
+
+    /** Returns the canonical instance for these values, creating or replacing it if needed. */
+    public static Category intern(int id, String name, TransactionType type, int userId) {
+        Category current = CANONICAL.get(id);
+        if (current != null && current.sameAs(id, name, type, userId)) return current;
+        return CANONICAL.compute(id, (k, existing) ->
+                existing != null && existing.sameAs(id, name, type, userId)
+                        ? existing
+                        : new Category(id, name, type, userId));
+    }
+
+    public static Category intern(Category category) {
+        return intern(category.getCategoryId(), category.getCategoryName(),
+                category.getTransactionType(), category.getUserId());
+    }
+
+    /** Canonical instance if this id has been loaded, otherwise null. */
+    public static Category lookup(int id) {
+        return CANONICAL.get(id);
+    }
+
+    static void forget(int id) {
+        CANONICAL.remove(id);
+    }
+
+    public static int size() {
+        return CANONICAL.size();
+    }
+}
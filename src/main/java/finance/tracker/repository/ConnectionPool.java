@@ -0,0 +1,320 @@
+package finance.tracker.repository;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool. DAOs borrow a connection per operation with
+ * {@code try (Connection c = pool.getConnection())}; closing the borrowed
+ * handle returns the physical connection to the pool instead of closing it.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    /** Pool sizing and timing knobs. Defaults suit the desktop client and a small web tier. */
+    public static class Config {
+        private int minSize = 2;
+        private int maxSize = 10;
+        private Duration acquireTimeout = Duration.ofSeconds(10);
+        private Duration idleTimeout = Duration.ofMinutes(5);
+        private Duration leakThreshold = Duration.ofSeconds(30);
+        private Duration housekeepingInterval = Duration.ofSeconds(15);
+        private int validationTimeoutSeconds = 2;
+
+        public Config minSize(int minSize) { this.minSize = minSize; return this; }
+        public Config maxSize(int maxSize) { this.maxSize = maxSize; return this; }
+        public Config acquireTimeout(Duration d) { this.acquireTimeout = d; return this; }
+        public Config idleTimeout(Duration d) { this.idleTimeout = d; return this; }
+        /** Connections held longer than this are reported as leaks; {@link Duration#ZERO} disables it. */
+        public Config leakThreshold(Duration d) { this.leakThreshold = d; return this; }
+        public Config housekeepingInterval(Duration d) { this.housekeepingInterval = d; return this; }
+        public Config validationTimeoutSeconds(int s) { this.validationTimeoutSeconds = s; return this; }
+    }
+
+    /** Snapshot of pool counters, e.g. for logging or a health endpoint. */
+    public record Stats(int total, int idle, int active, int waiting,
+                        long borrowed, long created, long destroyed, long timeouts, long leaks) {
+        @Override
+        public String toString() {
+            return "Pool[total=" + total + ", idle=" + idle + ", active=" + active + ", waiting=" + waiting
+                    + ", borrowed=" + borrowed + ", created=" + created + ", destroyed=" + destroyed
+                    + ", timeouts=" + timeouts + ", leaks=" + leaks + "]";
+        }
+    }
+
+    private static final class PooledConnection {
+        final Connection physical;
+        volatile long lastUsedNanos = System.nanoTime();
+        volatile long borrowedAtNanos;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical) { this.physical = physical; }
+    }
+
+    /** Opens a physical connection; tests substitute fakes for the driver. */
+    interface Opener {
+        Connection open() throws SQLException;
+    }
+
+    private final Opener opener;
+    private final Config config;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> inUse = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicLong borrowedCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, Config config) {
+        this(() -> DriverManager.getConnection(url, user, password), config);
+    }
+
+    ConnectionPool(Opener opener, Config config) {
+        if (config.minSize < 0 || config.maxSize < 1 || config.minSize > config.maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + config.minSize + ", max=" + config.maxSize);
+        }
+        this.opener = opener;
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize, true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = config.housekeepingInterval.toMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+        fillToMinimum();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) throw new SQLException("Connection pool is closed");
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLTimeoutException("Timed out after " + config.acquireTimeout.toMillis()
+                    + " ms waiting for a connection; " + getStats());
+        }
+
+        try {
+            PooledConnection pc = takeValidIdle();
+            if (pc == null) pc = open();
+            pc.borrowedAtNanos = System.nanoTime();
+            pc.leakReported = false;
+            pc.borrowSite = config.leakThreshold.isZero() ? null : new Throwable("Connection borrowed here");
+            inUse.add(pc);
+            borrowedCount.incrementAndGet();
+            return wrap(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool is bound to a single set of credentials");
+    }
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            if (isUsable(pc)) return pc;
+            destroy(pc);
+        }
+        return null;
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        try {
+            return !pc.physical.isClosed() && pc.physical.isValid(config.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = opener.open();
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Called when a borrowed handle is closed. Broken connections are discarded, not recycled,
+     * and so are ones returned by an interrupted thread: the interrupt may have cut a query
+     * short and left the protocol stream in an unknown state.
+     */
+    private void release(PooledConnection pc) {
+        inUse.remove(pc);
+        try {
+            boolean healthy = !closed.get() && !Thread.currentThread().isInterrupted() && !pc.physical.isClosed();
+            if (healthy && !pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (healthy) {
+                pc.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(pc);
+            } else {
+                destroy(pc);
+            }
+        } catch (SQLException e) {
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        destroyedCount.incrementAndGet();
+        try {
+            pc.physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private Connection wrap(PooledConnection pc) {
+        AtomicBoolean handleClosed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        if (handleClosed.compareAndSet(false, true)) release(pc);
+                        yield null;
+                    }
+                    case "isClosed" -> handleClosed.get() || pc.physical.isClosed();
+                    case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : pc.physical.unwrap((Class<?>) args[0]);
+                    case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy) || pc.physical.isWrapperFor((Class<?>) args[0]);
+                    case "toString" -> "Pooled" + pc.physical;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (handleClosed.get()) throw new SQLException("Connection has been returned to the pool");
+                        try {
+                            yield method.invoke(pc.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    /* ================= HOUSEKEEPING ================= */
+
+    /** One pass of eviction, leak detection and refill; tests call it instead of waiting for the timer. */
+    void housekeep() {
+        try {
+            evictIdle();
+            detectLeaks();
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - config.idleTimeout.toNanos();
+        // Oldest idle connections sit at the tail because releases push to the head
+        while (idle.size() + inUse.size() > config.minSize) {
+            PooledConnection tail = idle.peekLast();
+            if (tail == null || tail.lastUsedNanos > cutoff) break;
+            if (idle.removeLastOccurrence(tail)) destroy(tail);
+        }
+    }
+
+    private void detectLeaks() {
+        if (config.leakThreshold.isZero()) return;
+        long threshold = config.leakThreshold.toNanos();
+        long now = System.nanoTime();
+        for (PooledConnection pc : inUse) {
+            if (!pc.leakReported && now - pc.borrowedAtNanos > threshold) {
+                pc.leakReported = true;
+                leakCount.incrementAndGet();
+                System.err.println("⚠️ Possible connection leak: held for "
+                        + Duration.ofNanos(now - pc.borrowedAtNanos).toMillis() + " ms");
+                if (pc.borrowSite != null) pc.borrowSite.printStackTrace();
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed.get() && idle.size() + inUse.size() < config.minSize && permits.tryAcquire()) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                System.err.println("⚠️ Could not pre-open pooled connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /* ================= METRICS & LIFECYCLE ================= */
+
+    public Stats getStats() {
+        int idleNow = idle.size();
+        int activeNow = inUse.size();
+        return new Stats(idleNow + activeNow, idleNow, activeNow, permits.getQueueLength(),
+                borrowedCount.get(), createdCount.get(), destroyedCount.get(),
+                timeoutCount.get(), leakCount.get());
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) destroy(pc);
+        // Borrowed connections are destroyed when their handles are closed
+    }
+
+    /* ================= DataSource boilerplate ================= */
+
+    @Override public PrintWriter getLogWriter() { return DriverManager.getLogWriter(); }
+    @Override public void setLogWriter(PrintWriter out) { DriverManager.setLogWriter(out); }
+    @Override public void setLoginTimeout(int seconds) { DriverManager.setLoginTimeout(seconds); }
+    @Override public int getLoginTimeout() { return DriverManager.getLoginTimeout(); }
+    @Override public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,188 @@
+package finance.tracker.repository;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionFactory;
+import finance.tracker.model.TransactionType;
+import finance.tracker.model.User;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the schema with synthetic users for load tests and benchmarks. Every user gets
+ * their own categories and a history shaped like a real one:
+ * <ul>
+ *   <li>salary on the first of the month, rent on the second, and occasional freelance
+ *       income;</li>
+ *   <li>day-to-day spending spread over categories with a Zipf-like skew (groceries and
+ *       dining dominate, education and gifts are rare);</li>
+ *   <li>more spending in December and the summer, less in January and February;</li>
+ *   <li>log-normal amounts around a per-category typical value, with some users
+ *       spending far more than others.</li>
+ * </ul>
+ * Rows go in through {@link TransactionCopyLoader}, one COPY per user, so
+ * {@code monthly_rollup} stays consistent. Within a calendar month, the same seed
+ * always produces the same data.
+ */
+public class DataGenerator {
+    /** Name, typical amount in cents and relative frequency; frequencies fall off roughly as 1/rank. */
+    private record Kind(String name, long typicalMinor, double weight) {}
+
+    private static final Kind[] SPENDING = {
+            new Kind("Groceries", 45_00, 1.0),
+            new Kind("Dining", 28_00, 0.55),
+            new Kind("Transport", 15_00, 0.38),
+            new Kind("Shopping", 60_00, 0.28),
+            new Kind("Entertainment", 35_00, 0.22),
+            new Kind("Utilities", 90_00, 0.18),
+            new Kind("Health", 70_00, 0.15),
+            new Kind("Travel", 300_00, 0.12),
+            new Kind("Gifts", 50_00, 0.11),
+            new Kind("Education", 120_00, 0.10),
+    };
+    private static final String RENT = "Rent", SALARY = "Salary", FREELANCE = "Freelance";
+
+    /** Spending multiplier by month, January first. */
+    private static final double[] SEASON = {0.8, 0.85, 0.95, 1.0, 1.0, 1.05, 1.15, 1.2, 1.0, 1.0, 1.1, 1.45};
+
+    private static final String PASSWORD = "loadtest";
+
+    public record Result(int firstUserId, int lastUserId, long transactions) {}
+
+    private final UserDAO users;
+    private final CategoryDAO categories;
+    private final TransactionCopyLoader loader;
+
+    public DataGenerator(DataSource dataSource) {
+        this.users = new UserDAO(dataSource);
+        this.categories = new CategoryDAO(dataSource);
+        this.loader = new TransactionCopyLoader(dataSource);
+    }
+
+    /**
+     * Creates {@code userCount} users, each with {@code months} months of history ending
+     * last month and about {@code spendingPerMonth} purchases in an average month. Users
+     * are registered as {@code loadtest-<seed>-<n>@example.com} with password
+     * {@value #PASSWORD}; running again with the same seed fails on the duplicate emails
+     * rather than doubling the data.
+     */
+    public Result generate(int userCount, int months, int spendingPerMonth, long seed) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        YearMonth first = YearMonth.now().minusMonths(months);
+        int firstId = -1, lastId = -1;
+        long total = 0;
+        for (int n = 0; n < userCount; n++) {
+            User user = createUser("loadtest-" + seed + "-" + n + "@example.com", "Load test " + n);
+            List<Category> own = createCategories(user.getUserId());
+            List<Transaction> history = history(random.split(), user.getUserId(), own, first, months, spendingPerMonth);
+            total += loader.load(history.iterator()).inserted();
+            if (firstId < 0) firstId = user.getUserId();
+            lastId = user.getUserId();
+        }
+        return new Result(firstId, lastId, total);
+    }
+
+    private User createUser(String email, String name) {
+        if (!users.register(email, PASSWORD, name)) {
+            throw new IllegalStateException("Could not register " + email + " (generated before with this seed?)");
+        }
+        User user = users.login(email, PASSWORD);
+        if (user == null) throw new IllegalStateException("Could not log in as " + email);
+        return user;
+    }
+
+    /** Returns categories in the order RENT, SALARY, FREELANCE, then {@link #SPENDING}. */
+    private List<Category> createCategories(int userId) {
+        List<Category> created = new ArrayList<>();
+        created.add(category(RENT, TransactionType.EXPENSE, userId));
+        created.add(category(SALARY, TransactionType.INCOME, userId));
+        created.add(category(FREELANCE, TransactionType.INCOME, userId));
+        for (Kind kind : SPENDING) created.add(category(kind.name(), TransactionType.EXPENSE, userId));
+        return created;
+    }
+
+    private Category category(String name, TransactionType type, int userId) {
+        categories.insertCategory(new Category(0, name, type, userId));
+        Category c = categories.findByNameTypeAndUserId(name, type, userId);
+        if (c == null) throw new IllegalStateException("Could not create category " + name);
+        return c;
+    }
+
+    private static List<Transaction> history(SplittableRandom random, int userId, List<Category> own,
+                                             YearMonth first, int months, int spendingPerMonth) {
+        Category rent = own.get(0), salary = own.get(1), freelance = own.get(2);
+        double totalWeight = 0;
+        for (Kind kind : SPENDING) totalWeight += kind.weight();
+
+        // Per-user scale: most users are close to typical, a few spend several times more
+        double scale = Math.exp(random.nextGaussian(0, 0.5));
+        long salaryMinor = Math.round(3_500_00 * scale / 100) * 100;
+        long rentMinor = Math.round(1_200_00 * scale / 100) * 100;
+
+        List<Transaction> rows = new ArrayList<>(months * (spendingPerMonth * 3 / 2 + 4));
+        for (int m = 0; m < months; m++) {
+            YearMonth month = first.plusMonths(m);
+            rows.add(tx(TransactionType.INCOME, salaryMinor, salary, "Monthly salary", month.atDay(1), userId));
+            rows.add(tx(TransactionType.EXPENSE, rentMinor, rent, "Rent", month.atDay(2), userId));
+            if (random.nextInt(4) == 0) {
+                rows.add(tx(TransactionType.INCOME, amount(random, 400_00 * scale, 0.6), freelance, "Freelance invoice",
+                        month.atDay(1 + random.nextInt(month.lengthOfMonth())), userId));
+            }
+
+            double season = SEASON[month.getMonthValue() - 1];
+            int count = (int) Math.round(spendingPerMonth * season * (0.8 + 0.4 * random.nextDouble()));
+            for (int i = 0; i < count; i++) {
+                int k = pick(random, totalWeight);
+                Kind kind = SPENDING[k];
+                rows.add(tx(TransactionType.EXPENSE, amount(random, kind.typicalMinor() * scale, 0.7), own.get(3 + k),
+                        kind.name() + " #" + (i + 1), month.atDay(1 + random.nextInt(month.lengthOfMonth())), userId));
+            }
+        }
+        return rows;
+    }
+
+    private static int pick(SplittableRandom random, double totalWeight) {
+        double r = random.nextDouble() * totalWeight;
+        for (int k = 0; k < SPENDING.length - 1; k++) {
+            r -= SPENDING[k].weight();
+            if (r < 0) return k;
+        }
+        return SPENDING.length - 1;
+    }
+
+    /** Log-normal around {@code typical} cents, at least one dollar. */
+    private static long amount(SplittableRandom random, double typical, double spread) {
+        return Math.max(100, Math.round(typical * Math.exp(random.nextGaussian(0, spread))));
+    }
+
+    private static BaseTransaction tx(TransactionType type, long amountMinor, Category category, String description,
+                                      LocalDate date, int userId) {
+        return TransactionFactory.createTransaction(type, amountMinor, category, description, date, userId);
+    }
+
+    /** Usage: {@code DataGenerator users [months=36] [purchasesPerMonth=60] [seed=1]}. */
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 1) {
+            System.err.println("Usage: DataGenerator users [months] [purchasesPerMonth] [seed]");
+            System.exit(2);
+        }
+        int userCount = Integer.parseInt(args[0]);
+        int months = args.length > 1 ? Integer.parseInt(args[1]) : 36;
+        int perMonth = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        long start = System.nanoTime();
+        Result result = new DataGenerator(DatabaseConnector.getInstance()).generate(userCount, months, perMonth, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("✅ Generated %,d transactions for users %d-%d in %.1f s (%,.0f rows/s)%n",
+                result.transactions(), result.firstUserId(), result.lastUserId(), seconds, result.transactions() / seconds);
+        DatabaseConnector.shutdown();
+    }
+}
@@ -1,27 +1,133 @@
 package finance.tracker.repository;
 
+import javax.sql.DataSource;
+import java.io.PrintWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
 
 public class DatabaseConnector {
-    private static final String URL = "jdbc:postgresql://localhost:5432/finance_tracker";
-    private static final String USER = "postgres";
-    private static final String PASSWORD = "postgres";
+    private static final String URL = System.getProperty("db.url", "jdbc:postgresql://localhost:5432/finance_tracker?reWriteBatchedInserts=true");
+    private static final String USER = System.getProperty("db.user", "postgres");
+    private static final String PASSWORD = System.getProperty("db.password", "postgres");
 
-    private static Connection connection = null;
+    private static volatile ConnectionPool pool = null;
+    private static TransactionPartitionManager partitions = null;
 
     private DatabaseConnector() {} // Prevent instantiation
 
-    public static Connection getInstance() {
-        if (connection == null) {
+    /**
+     * Shared connection pool for the whole process. DAOs borrow a connection per
+     * operation instead of sharing one socket across threads. The schema is migrated
+     * to the latest version on first use unless {@code -Ddb.migrate=false}; after a
+     * migration, partition maintenance runs daily unless {@code -Ddb.partition.maintenance=false}.
+     */
+    public static DataSource getInstance() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DatabaseConnector.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ConnectionPool(URL, USER, PASSWORD, new ConnectionPool.Config()
+                            .minSize(Integer.getInteger("db.pool.min", 2))
+                            .maxSize(Integer.getInteger("db.pool.max", 10)));
+                    boolean migrate = !"false".equals(System.getProperty("db.migrate"));
+                    if (migrate) {
+                        try {
+                            new SchemaMigrator(p).migrate();
+                        } catch (SQLException e) {
+                            p.close();
+                            throw new IllegalStateException("Database migration failed", e);
+                        }
+                    }
+                    pool = p;
+                    if (migrate) {
+                        System.out.println("✅ Connected to PostgreSQL"); // the migration just used a connection
+                    } else {
+                        // Nothing has been borrowed yet, and the pool may have opened nothing (min size 0, server down)
+                        try (Connection c = p.getConnection()) {
+                            System.out.println("✅ Connected to PostgreSQL");
+                        } catch (SQLException e) {
+                            System.err.println("⚠️ Connection pool created, but PostgreSQL is not reachable yet: " + e.getMessage());
+                        }
+                    }
+                    // Only on a schema this process just migrated (so V4's partitions exist), and opt-out per process
+                    if (migrate && !"false".equals(System.getProperty("db.partition.maintenance"))) {
+                        partitions = new TransactionPartitionManager(p,
+                                TransactionPartitionManager.Granularity.valueOf(System.getProperty("db.partition.granularity", "MONTH")),
+                                Integer.getInteger("db.partition.ahead", 3));
+                        partitions.start(24);
+                    }
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Same pool as {@link #getInstance()}, but nothing is opened until the first
+     * {@code getConnection()}. Lets a client build its DAOs up front and connect later,
+     * e.g. in the background while a login form is shown.
+     */
+    public static DataSource lazy() {
+        return LazyDataSource.INSTANCE;
+    }
+
+    public static ConnectionPool.Stats getPoolStats() {
+        return ((ConnectionPool) getInstance()).getStats();
+    }
+
+    public static synchronized void shutdown() {
+        if (partitions != null) {
+            partitions.close();
+            partitions = null;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static final class LazyDataSource implements DataSource {
+        static final LazyDataSource INSTANCE = new LazyDataSource();
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return pool().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return pool().getConnection(username, password);
+        }
+
+        /** DAOs only catch SQLException, so a failed first connect or migration is reported as one. */
+        private static DataSource pool() throws SQLException {
             try {
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-                System.out.println("✅ Connected to PostgreSQL");
-            } catch (SQLException e) {
-                e.printStackTrace();
+                return getInstance();
+            } catch (IllegalStateException e) {
+                throw new SQLException(e.getMessage(), e.getCause());
             }
         }
-        return connection;
+
+        @Override public PrintWriter getLogWriter() { return null; }
+        @Override public void setLogWriter(PrintWriter out) {}
+        @Override public void setLoginTimeout(int seconds) {}
+        @Override public int getLoginTimeout() { return 0; }
+        @Override public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) return iface.cast(this);
+            return pool().unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || pool().isWrapperFor(iface);
+        }
     }
 }
@@ -0,0 +1,294 @@
+package finance.tracker.repository;
+
+import com.google.gson.Gson;
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.TransactionPage;
+import finance.tracker.model.TransactionType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for {@link WebServer}, meant to run on the same box against users made
+ * by {@link DataGenerator}. Two models:
+ * <ul>
+ *   <li>{@code closed}: {@code load.concurrency} workers each send a request, wait for
+ *       the answer and send the next, like a fixed population of clients;</li>
+ *   <li>{@code open}: requests start at {@code load.rate} per second whether or not
+ *       earlier ones have finished, like independent arrivals. Latency is measured from
+ *       the scheduled start, so a stalled server shows up as queueing delay instead of
+ *       being hidden by a slower send rate.</li>
+ * </ul>
+ * Requests are a weighted mix ({@code load.mix}) of month summaries, listing pages and
+ * transaction POSTs for random users in {@code load.users}. A POST uses a category seen
+ * in an earlier page for the same user, or sends a page request instead if there is none
+ * yet. Results recorded during {@code load.warmup} are dropped. The report gives
+ * throughput, errors and latency percentiles per route.
+ *
+ * <p>Example: {@code java -Dload.model=open -Dload.rate=500 -Dload.users=1-200 -cp ... finance.tracker.repository.LoadDriver}
+ */
+public class LoadDriver {
+    private static final String BASE_URL = System.getProperty("load.url", "http://localhost:4567");
+    private static final String MODEL = System.getProperty("load.model", "closed");
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.maxInFlight", 10_000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.durationSeconds", 60));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10));
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("load.timeoutSeconds", 10));
+
+    enum Route { SUMMARY, PAGE, POST }
+
+    private final HttpClient client;
+    private final Gson gson = WebServer.createGson();
+    private final int firstUser, lastUser;
+    private final Route[] mix; // one entry per unit of weight
+    private final Map<Integer, Category> knownCategory = new ConcurrentHashMap<>();
+    private final Map<Route, Histogram> latency = new LinkedHashMap<>();
+    private final Map<Route, AtomicLong> errors = new LinkedHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long recordFrom;
+
+    LoadDriver(ExecutorService executor, int firstUser, int lastUser, Map<Route, Integer> weights) {
+        this.client = HttpClient.newBuilder().executor(executor).version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT).build();
+        this.firstUser = firstUser;
+        this.lastUser = lastUser;
+        List<Route> entries = new ArrayList<>();
+        weights.forEach((route, weight) -> {
+            for (int i = 0; i < weight; i++) entries.add(route);
+        });
+        if (entries.isEmpty()) throw new IllegalArgumentException("load.mix has no positive weights");
+        this.mix = entries.toArray(new Route[0]);
+        for (Route route : Route.values()) {
+            latency.put(route, new Histogram());
+            errors.put(route, new AtomicLong());
+        }
+    }
+
+    /* ================= MODELS ================= */
+
+    void runClosed(int workers, long endNanos) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            threads.add(Thread.ofVirtual().name("load-", w).start(() -> {
+                while (System.nanoTime() < endNanos) send(System.nanoTime());
+            }));
+        }
+        for (Thread t : threads) t.join();
+    }
+
+    void runOpen(ExecutorService executor, int perSecond, long endNanos) throws InterruptedException {
+        long interval = 1_000_000_000L / perSecond;
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long next = System.nanoTime();
+        while (next < endNanos) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            long scheduled = next;
+            if (inFlight.tryAcquire()) {
+                executor.execute(() -> {
+                    try {
+                        send(scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else {
+                dropped.incrementAndGet(); // the box can't keep up; counted rather than queued without bound
+            }
+            next += interval;
+        }
+        inFlight.acquire(MAX_IN_FLIGHT); // let the last requests finish
+    }
+
+    /* ================= REQUESTS ================= */
+
+    private void send(long startNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int userId = random.nextInt(firstUser, lastUser + 1);
+        Route route = mix[random.nextInt(mix.length)];
+        Category category = knownCategory.get(userId);
+        if (route == Route.POST && category == null) route = Route.PAGE;
+
+        boolean ok;
+        try {
+            HttpRequest request = switch (route) {
+                case SUMMARY -> get("/users/" + userId + "/summary?month=" + YearMonth.now().minusMonths(random.nextInt(12)));
+                case PAGE -> get("/users/" + userId + "/transactions?limit=50");
+                case POST -> HttpRequest.newBuilder(URI.create(BASE_URL + "/transactions")).timeout(TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(new BaseTransaction(
+                                category.getTransactionType(), 100 + random.nextLong(20_000), category,
+                                "Load test", LocalDate.now(), userId))))
+                        .build();
+            };
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() == 200;
+            if (ok && route == Route.PAGE) remember(userId, response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            ok = false;
+        }
+
+        long end = System.nanoTime();
+        if (startNanos < recordFrom) return; // warm-up
+        if (ok) latency.get(route).record((end - startNanos) / 1_000);
+        else errors.get(route).incrementAndGet();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private void remember(int userId, String body) {
+        if (knownCategory.containsKey(userId)) return;
+        TransactionPage page = gson.fromJson(body, TransactionPage.class);
+        if (page == null || page.items() == null) return;
+        for (BaseTransaction tx : page.items()) {
+            if (tx.getCategory() != null && tx.getType() == TransactionType.EXPENSE) {
+                knownCategory.putIfAbsent(userId, tx.getCategory());
+                return;
+            }
+        }
+    }
+
+    /* ================= REPORT ================= */
+
+    void report(double seconds) {
+        System.out.printf("%-8s %9s %9s %8s %8s %8s %8s %8s%n",
+                "route", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Histogram all = new Histogram();
+        long allErrors = 0;
+        for (Route route : Route.values()) {
+            Histogram h = latency.get(route);
+            long err = errors.get(route).get();
+            all.add(h);
+            allErrors += err;
+            if (h.count() + err > 0) line(route.name().toLowerCase(), h, err, seconds);
+        }
+        line("total", all, allErrors, seconds);
+        if (dropped.get() > 0) {
+            System.out.printf("⚠️ %,d arrivals dropped at %,d in flight; the driver or server is saturated%n",
+                    dropped.get(), MAX_IN_FLIGHT);
+        }
+    }
+
+    private static void line(String name, Histogram h, long err, double seconds) {
+        System.out.printf("%-8s %,9d %,9d %8.1f %8.2f %8.2f %8.2f %8.2f%n", name, h.count(), err, h.count() / seconds,
+                h.percentile(50) / 1e3, h.percentile(90) / 1e3, h.percentile(99) / 1e3, h.max() / 1e3);
+    }
+
+    /**
+     * Lock-free latency histogram in microseconds: buckets double in width, each split in
+     * 16 linear steps, so any recorded value is reported within about 6%.
+     */
+    static final class Histogram {
+        private static final int SUB = 16;
+        private final AtomicLongArray counts = new AtomicLongArray(64 * SUB);
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros) {
+            long v = Math.max(1, micros);
+            counts.incrementAndGet(index(v));
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        static int index(long v) {
+            if (v < SUB) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v); // 2^exp <= v < 2^(exp+1)
+            int sub = (int) ((v >>> (exp - 4)) & (SUB - 1)); // next 4 bits below the top one
+            return (exp - 3) * SUB + sub;
+        }
+
+        /** Largest value that maps to bucket {@code i}. */
+        static long upperBound(int i) {
+            if (i < SUB) return i;
+            int exp = i / SUB + 3;
+            long sub = i % SUB;
+            return (1L << exp) + ((sub + 1) << (exp - 4)) - 1;
+        }
+
+        void add(Histogram other) {
+            for (int i = 0; i < counts.length(); i++) counts.addAndGet(i, other.counts.get(i));
+            max.accumulateAndGet(other.max.get(), Math::max);
+        }
+
+        long count() {
+            long n = 0;
+            for (int i = 0; i < counts.length(); i++) n += counts.get(i);
+            return n;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long percentile(double p) {
+            long total = count();
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(total * p / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) return Math.min(upperBound(i), max.get());
+            }
+            return max.get();
+        }
+    }
+
+    /* ================= MAIN ================= */
+
+    static Map<Route, Integer> parseMix(String spec) {
+        Map<Route, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("load.mix entries look like summary=50: " + part);
+            weights.put(Route.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] users = System.getProperty("load.users", "1-10").split("-");
+        int firstUser = Integer.parseInt(users[0].trim());
+        int lastUser = Integer.parseInt(users[users.length - 1].trim());
+        Map<Route, Integer> weights = parseMix(System.getProperty("load.mix", "summary=50,page=40,post=10"));
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory())) {
+            LoadDriver driver = new LoadDriver(executor, firstUser, lastUser, weights);
+            long start = System.nanoTime();
+            driver.recordFrom = start + WARMUP.toNanos();
+            long end = driver.recordFrom + DURATION.toNanos();
+            System.out.printf("🚦 %s model against %s, users %d-%d, %s for %d s after %d s warm-up%n", MODEL, BASE_URL,
+                    firstUser, lastUser, MODEL.equals("open") ? RATE + " req/s" : CONCURRENCY + " workers",
+                    DURATION.toSeconds(), WARMUP.toSeconds());
+            switch (MODEL) {
+                case "closed" -> driver.runClosed(CONCURRENCY, end);
+                case "open" -> driver.runOpen(executor, RATE, end);
+                default -> throw new IllegalArgumentException("load.model must be closed or open, not " + MODEL);
+            }
+            driver.report((System.nanoTime() - driver.recordFrom) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package finance.tracker.repository;
+
+import finance.tracker.model.Money;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionType;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persisted (user, month, type, category) → (sum, count) rollup of {@code transactions}.
+ * {@link TransactionDAO} applies deltas in the same database transaction as every
+ * insert, update and delete, so summary reads scan one row per category instead of
+ * the raw history. {@link #rebuild} and {@link #countDrift} repair and verify it.
+ */
+public class MonthlyRollupDAO {
+
+    static final String UPSERT_SQL = """
+        INSERT INTO monthly_rollup (user_id, month, type, category_id, total, tx_count)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (user_id, month, type, category_id) DO UPDATE
+        SET total = monthly_rollup.total + EXCLUDED.total,
+            tx_count = monthly_rollup.tx_count + EXCLUDED.tx_count
+    """;
+
+    /** Same aggregation the deltas maintain, used by rebuild and reconcile. */
+    private static final String AGGREGATE_SQL = """
+        SELECT user_id, date_trunc('month', date)::date AS month, type, category_id,
+               SUM(amount) AS total, COUNT(*) AS tx_count
+        FROM transactions
+    """;
+
+    private final DataSource dataSource;
+
+    public MonthlyRollupDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Rollup changes accumulated for one database transaction. Deltas for the same key are
+     * merged in memory first, so a batch issues one upsert per touched rollup row (and a
+     * multi-row upsert never hits the same row twice).
+     */
+    static final class Deltas {
+        private record Key(int userId, LocalDate month, TransactionType type, int categoryId) {}
+
+        private final Map<Key, long[]> totals = new LinkedHashMap<>(); // {cents, count}
+
+        /** Records {@code tx} being added ({@code sign = 1}) or removed ({@code sign = -1}). */
+        void add(Transaction tx, int sign) {
+            add(tx.getUserId(), tx.getDate(), tx.getType(), tx.getCategory().getCategoryId(), tx.getAmountMinor(), sign);
+        }
+
+        void add(int userId, LocalDate date, TransactionType type, int categoryId, long amountMinor, int sign) {
+            long[] t = totals.computeIfAbsent(new Key(userId, date.withDayOfMonth(1), type, categoryId), k -> new long[2]);
+            t[0] += sign * amountMinor;
+            t[1] += sign;
+        }
+
+        /** Writes the accumulated deltas on {@code connection} (inside the caller's transaction) and resets. */
+        void apply(Connection connection) throws SQLException {
+            if (totals.isEmpty()) return;
+            try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SQL)) {
+                for (Map.Entry<Key, long[]> e : totals.entrySet()) {
+                    Key key = e.getKey();
+                    upsert.setInt(1, key.userId());
+                    upsert.setDate(2, Date.valueOf(key.month()));
+                    upsert.setString(3, key.type().name());
+                    upsert.setInt(4, key.categoryId());
+                    upsert.setBigDecimal(5, Money.toBigDecimal(e.getValue()[0]));
+                    upsert.setInt(6, (int) e.getValue()[1]);
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+            }
+            clear();
+        }
+
+        void clear() {
+            totals.clear();
+        }
+    }
+
+    /**
+     * Recomputes the rollup from raw transactions for one user, or for everyone when
+     * {@code userId} is null. Runs in a single database transaction.
+     *
+     * @return number of rollup rows written
+     */
+    public int rebuild(Integer userId) throws SQLException {
+        String where = userId == null ? "" : " WHERE user_id = ?";
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM monthly_rollup" + where);
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO monthly_rollup (user_id, month, type, category_id, total, tx_count) "
+                                 + AGGREGATE_SQL + where + " GROUP BY 1, 2, 3, 4")) {
+                if (userId != null) {
+                    delete.setInt(1, userId);
+                    insert.setInt(1, userId);
+                }
+                delete.executeUpdate();
+                int rows = insert.executeUpdate();
+                connection.commit();
+                return rows;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Counts rollup rows that disagree with the raw transactions (missing, extra or
+     * wrong totals) for one user, or for everyone when {@code userId} is null.
+     */
+    public long countDrift(Integer userId) throws SQLException {
+        String rawWhere = userId == null ? "" : " WHERE user_id = ?";
+        String rollupWhere = userId == null ? " WHERE tx_count <> 0" : " WHERE user_id = ? AND tx_count <> 0";
+        String sql = "WITH expected AS (" + AGGREGATE_SQL + rawWhere + " GROUP BY 1, 2, 3, 4), "
+                + "actual AS (SELECT * FROM monthly_rollup" + rollupWhere + ") "
+                + "SELECT COUNT(*) FROM expected e FULL OUTER JOIN actual a "
+                + "ON a.user_id = e.user_id AND a.month = e.month AND a.type = e.type AND a.category_id = e.category_id "
+                + "WHERE e.total IS DISTINCT FROM a.total OR e.tx_count IS DISTINCT FROM a.tx_count";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (userId != null) {
+                stmt.setInt(1, userId);
+                stmt.setInt(2, userId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /** Usage: {@code MonthlyRollupDAO rebuild|reconcile [userId]} */
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 1 || !(args[0].equals("rebuild") || args[0].equals("reconcile"))) {
+            System.err.println("Usage: MonthlyRollupDAO rebuild|reconcile [userId]");
+            System.exit(2);
+        }
+        Integer userId = args.length > 1 ? Integer.valueOf(args[1]) : null;
+        MonthlyRollupDAO dao = new MonthlyRollupDAO(DatabaseConnector.getInstance());
+        String scope = userId == null ? "all users" : "user " + userId;
+
+        long drift = dao.countDrift(userId);
+        System.out.println("🔎 " + drift + " rollup rows out of date for " + scope);
+        if (args[0].equals("rebuild") || drift > 0) {
+            int rows = dao.rebuild(userId);
+            System.out.println("✅ Rebuilt " + rows + " rollup rows for " + scope);
+        }
+        DatabaseConnector.shutdown();
+    }
+}
@@ -0,0 +1,172 @@
+package finance.tracker.repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned SQL scripts under {@code db/migration} in order and records
+ * each one in {@code schema_version}. Every script runs in its own database
+ * transaction, and a PostgreSQL advisory lock keeps two nodes starting at the same
+ * time from migrating concurrently.
+ */
+public class SchemaMigrator {
+
+    /** Scripts in apply order. Add new files here; never edit one that has shipped. */
+    static final List<String> MIGRATIONS = List.of(
+            "V1__baseline.sql",
+            "V2__access_path_indexes.sql",
+            "V3__monthly_rollup.sql",
+            "V4__partition_transactions.sql",
+            "V5__amount_sort_index.sql"
+    );
+
+    private static final String LOCATION = "/db/migration/";
+    private static final long LOCK_KEY = 0x46_54_4D_49_47L; // "FTMIG"
+
+    private static final String CREATE_HISTORY = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version      INT PRIMARY KEY,
+            script       VARCHAR(200) NOT NULL,
+            checksum     BIGINT       NOT NULL,
+            applied_at   TIMESTAMP    NOT NULL DEFAULT now(),
+            execution_ms BIGINT       NOT NULL
+        )
+    """;
+
+    record Migration(int version, String script, String sql, long checksum) {}
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Brings the database up to the latest version.
+     *
+     * @return number of scripts applied
+     * @throws IllegalStateException if an applied script was modified after it ran
+     */
+    public int migrate() throws SQLException {
+        List<Migration> migrations = load();
+        try (Connection connection = dataSource.getConnection()) {
+            lock(connection, true);
+            try {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(CREATE_HISTORY);
+                }
+                Map<Integer, Long> applied = applied(connection);
+
+                int count = 0;
+                for (Migration m : migrations) {
+                    Long checksum = applied.get(m.version());
+                    if (checksum != null) {
+                        if (checksum != m.checksum()) {
+                            throw new IllegalStateException("Migration " + m.script() + " changed after it was applied");
+                        }
+                        continue;
+                    }
+                    apply(connection, m);
+                    count++;
+                }
+                return count;
+            } finally {
+                lock(connection, false);
+            }
+        }
+    }
+
+    private void apply(Connection connection, Migration m) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement record = connection.prepareStatement(
+                     "INSERT INTO schema_version (version, script, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            stmt.execute(m.sql());
+            record.setInt(1, m.version());
+            record.setString(2, m.script());
+            record.setLong(3, m.checksum());
+            record.setLong(4, (System.nanoTime() - start) / 1_000_000);
+            record.executeUpdate();
+            connection.commit();
+            System.out.println("🗄️ Applied migration " + m.script());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration " + m.script() + " failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static Map<Integer, Long> applied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    /** Session-level advisory lock shared by everything that changes the schema, e.g. partition maintenance. */
+    static void lock(Connection connection, boolean acquire) throws SQLException {
+        String sql = acquire ? "SELECT pg_advisory_lock(?)" : "SELECT pg_advisory_unlock(?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, LOCK_KEY);
+            stmt.execute();
+        }
+    }
+
+    static List<Migration> load() {
+        List<Migration> migrations = new ArrayList<>();
+        int previous = 0;
+        for (String script : MIGRATIONS) {
+            int version = Integer.parseInt(script.substring(1, script.indexOf("__")));
+            if (version <= previous) {
+                throw new IllegalStateException("Migration " + script + " is out of order");
+            }
+            previous = version;
+
+            String sql = read(script);
+            migrations.add(new Migration(version, script, sql, checksum(sql)));
+        }
+        return migrations;
+    }
+
+    /** CRC32 of the script with CRLF read as LF, so a Windows checkout doesn't look like an edited migration. */
+    static long checksum(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static String read(String script) {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(LOCATION + script)) {
+            if (in == null) throw new IllegalStateException("Missing migration resource " + script);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Usage: {@code SchemaMigrator} — migrates the database configured for {@link DatabaseConnector}. */
+    public static void main(String[] args) throws SQLException {
+        int applied = new SchemaMigrator(DatabaseConnector.getInstance()).migrate();
+        System.out.println("✅ Schema up to date (" + applied + " migrations applied)");
+        DatabaseConnector.shutdown();
+    }
+}
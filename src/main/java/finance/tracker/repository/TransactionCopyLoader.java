@@ -0,0 +1,215 @@
+package finance.tracker.repository;
+
+import finance.tracker.model.Money;
+import finance.tracker.model.Transaction;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+
+/**
+ * High-volume loader for {@code transactions} built on PostgreSQL {@code COPY}.
+ * Rows are streamed into a temporary staging table and then merged in one
+ * {@code INSERT ... SELECT}, which drops rows whose category does not exist or belongs
+ * to another user, and rows that are already present (so re-importing the same statement is harmless).
+ * Duplicates are counted per copy: a row that appears three times in the load and
+ * once in the table is inserted twice, so two identical purchases on one day survive
+ * an overlapping import.
+ *
+ * <p>A row whose category has id 0 is matched by name, type and user instead, and
+ * missing categories are created. That happens in the same database transaction as
+ * the merge, so a failed load leaves no categories behind and only one connection is used.
+ */
+public class TransactionCopyLoader {
+
+    /**
+     * Row counts of one load; {@code staged - inserted - duplicates} rows were rejected by the
+     * merge because their category is missing or owned by another user.
+     */
+    public record Result(long staged, long inserted, long duplicates) {
+        public long rejected() { return staged - inserted - duplicates; }
+    }
+
+    private static final String CREATE_STAGING = """
+        CREATE TEMP TABLE import_staging (
+            type          VARCHAR(10),
+            amount        NUMERIC(12, 2),
+            category_id   INT,
+            category_name TEXT,
+            description   TEXT,
+            date          DATE,
+            user_id       INT
+        ) ON COMMIT DROP
+    """;
+
+    private static final String COPY_SQL =
+            "COPY import_staging (type, amount, category_id, category_name, description, date, user_id) FROM STDIN WITH (FORMAT csv)";
+
+    /** Categories staged by name only; a category's type is the row's type. */
+    private static final String CREATE_MISSING_CATEGORIES = """
+        INSERT INTO category (name, type, user_id)
+        SELECT DISTINCT s.category_name, s.type, s.user_id
+        FROM import_staging s
+        WHERE s.category_id IS NULL AND s.category_name IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM category c
+                          WHERE c.name = s.category_name AND c.type = s.type AND c.user_id = s.user_id)
+    """;
+
+    private static final String RESOLVE_CATEGORIES = """
+        UPDATE import_staging s SET category_id = c.id
+        FROM category c
+        WHERE s.category_id IS NULL
+          AND c.name = s.category_name AND c.type = s.type AND c.user_id = s.user_id
+    """;
+
+    /**
+     * Copy {@code n} of a staged row (identical rows are numbered 1, 2, 3, ...; PARTITION BY
+     * treats NULL descriptions as equal) is a duplicate if the table already holds
+     * {@code n} or more of it.
+     */
+    private static final String COUNT_DUPLICATES = """
+        WITH numbered AS (
+            SELECT s.*, ROW_NUMBER() OVER (PARTITION BY s.user_id, s.date, s.amount, s.category_id, s.type, s.description) AS n
+            FROM import_staging s
+            JOIN category c ON c.id = s.category_id AND (c.user_id = s.user_id OR c.user_id IS NULL)
+        )
+        SELECT COUNT(*) FROM numbered s
+        WHERE s.n <= (SELECT COUNT(*) FROM transactions t
+                      WHERE t.user_id = s.user_id AND t.date = s.date AND t.amount = s.amount
+                        AND t.category_id = s.category_id AND t.type = s.type
+                        AND t.description IS NOT DISTINCT FROM s.description)
+    """;
+
+    /** Inserts the copies beyond those already stored and folds them into {@code monthly_rollup} in the same statement. */
+    private static final String MERGE = """
+        WITH numbered AS (
+            SELECT s.*, ROW_NUMBER() OVER (PARTITION BY s.user_id, s.date, s.amount, s.category_id, s.type, s.description) AS n
+            FROM import_staging s
+            JOIN category c ON c.id = s.category_id AND (c.user_id = s.user_id OR c.user_id IS NULL)
+        ), ins AS (
+            INSERT INTO transactions (type, amount, category_id, description, date, user_id)
+            SELECT s.type, s.amount, s.category_id, s.description, s.date, s.user_id
+            FROM numbered s
+            WHERE s.n > (SELECT COUNT(*) FROM transactions t
+                         WHERE t.user_id = s.user_id AND t.date = s.date AND t.amount = s.amount
+                           AND t.category_id = s.category_id AND t.type = s.type
+                           AND t.description IS NOT DISTINCT FROM s.description)
+            RETURNING user_id, date, type, category_id, amount
+        ), roll AS (
+            INSERT INTO monthly_rollup (user_id, month, type, category_id, total, tx_count)
+            SELECT user_id, date_trunc('month', date)::date, type, category_id, SUM(amount), COUNT(*)
+            FROM ins
+            GROUP BY 1, 2, 3, 4
+            ON CONFLICT (user_id, month, type, category_id) DO UPDATE
+            SET total = monthly_rollup.total + EXCLUDED.total,
+                tx_count = monthly_rollup.tx_count + EXCLUDED.tx_count
+        )
+        SELECT COUNT(*) FROM ins
+    """;
+
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    public TransactionCopyLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Streams {@code rows} through COPY and merges them in a single database transaction.
+     * The iterator is consumed lazily, so callers can feed rows straight from a file parser.
+     */
+    public Result load(Iterator<? extends Transaction> rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(CREATE_STAGING);
+                }
+
+                long staged = copy(connection, rows);
+
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.executeUpdate(CREATE_MISSING_CATEGORIES);
+                    stmt.executeUpdate(RESOLVE_CATEGORIES);
+                }
+
+                long duplicates;
+                long inserted;
+                try (Statement stmt = connection.createStatement()) {
+                    try (var rs = stmt.executeQuery(COUNT_DUPLICATES)) {
+                        rs.next();
+                        duplicates = rs.getLong(1);
+                    }
+                    try (var rs = stmt.executeQuery(MERGE)) {
+                        rs.next();
+                        inserted = rs.getLong(1);
+                    }
+                }
+                connection.commit();
+                return new Result(staged, inserted, duplicates);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private long copy(Connection connection, Iterator<? extends Transaction> rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+            while (rows.hasNext()) {
+                appendRow(buffer, rows.next());
+                if (buffer.length() >= FLUSH_BYTES) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) copyIn.cancelCopy();
+        }
+    }
+
+    private static void appendRow(StringBuilder out, Transaction tx) {
+        int categoryId = tx.getCategory().getCategoryId();
+        out.append(tx.getType().name()).append(',')
+                .append(Money.format(tx.getAmountMinor())).append(',');
+        if (categoryId != 0) {
+            out.append(categoryId).append(',');
+        } else {
+            out.append(',');
+            appendQuoted(out, tx.getCategory().getCategoryName());
+        }
+        out.append(',');
+        appendQuoted(out, tx.getDescription());
+        out.append(',').append(tx.getDate()).append(',')
+                .append(tx.getUserId()).append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder out, String value) {
+        if (value == null) return; // unquoted empty field is NULL in COPY csv
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"') out.append('"');
+            out.append(ch);
+        }
+        out.append('"');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
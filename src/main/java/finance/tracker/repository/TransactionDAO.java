@@ -1,42 +1,76 @@
 package finance.tracker.repository;
 
 import finance.tracker.model.*;
-import finance.tracker.service.CategoryService;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TransactionDAO {
-    private final Connection connection;
-    private final CategoryDAO categoryDAO;
-    private final CategoryService service;
+    // Category columns come from the join so rows hydrate without a lookup per transaction.
+    // Amounts are converted to integer cents in SQL so rows map without a BigDecimal each.
+    private static final String SELECT_WITH_CATEGORY =
+            "SELECT t.id, t.type, (t.amount * 100)::bigint AS amount_minor, t.description, t.date, t.category_id, t.user_id, " +
+            "c.name AS category_name, c.type AS category_type, c.user_id AS category_user_id " +
+            "FROM transactions t JOIN category c ON t.category_id = c.id ";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (type, amount, category_id, description, date, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final DataSource dataSource;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public TransactionDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
 
     public TransactionDAO(Connection connection) {
-        this.connection = connection;
-        categoryDAO = new CategoryDAO(connection);
-        service = new CategoryService(categoryDAO);
+        this(new SingleConnectionDataSource(connection));
+    }
+
+    /** Rows pulled per round trip by the streaming reads. */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize <= 0) throw new IllegalArgumentException("Fetch size must be positive");
+        this.fetchSize = fetchSize;
+    }
+
+    /** Rows sent per JDBC batch (and committed per database transaction) by {@link #insertTransactions}. */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
     }
+
     public BigDecimal getTotalByUserAndTypeInMonth(int userId, TransactionType type, YearMonth month) {
         String sql = """
-        SELECT COALESCE(SUM(amount), 0)
-        FROM transactions
+        SELECT COALESCE(SUM(total), 0)
+        FROM monthly_rollup
         WHERE user_id = ?
           AND type = ?
-          AND date >= ? AND date < ?
+          AND month = ?
     """;
 
-        LocalDate firstDay = month.atDay(1);
-        LocalDate firstDayNextMonth = month.plusMonths(1).atDay(1);
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, userId);
             pstmt.setString(2, type.name());
-            pstmt.setDate(3, Date.valueOf(firstDay));
-            pstmt.setDate(4, Date.valueOf(firstDayNextMonth));
+            pstmt.setDate(3, Date.valueOf(month.atDay(1)));
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
@@ -51,42 +85,248 @@ public class TransactionDAO {
         return BigDecimal.ZERO;
     }
 
+    /**
+     * Income total, expense total and per-category expense totals for one month in a
+     * single round trip. Reads {@code monthly_rollup}, so the cost is one row per
+     * category regardless of how many transactions the month holds.
+     */
+    public MonthlySummary getMonthlySummary(int userId, YearMonth month) {
+        String sql = """
+        SELECT c.name AS category_name,
+               COALESCE(SUM(r.total) FILTER (WHERE r.type = 'INCOME'), 0)  AS income,
+               COALESCE(SUM(r.total) FILTER (WHERE r.type = 'EXPENSE'), 0) AS expense
+        FROM monthly_rollup r
+        JOIN category c ON c.id = r.category_id
+        WHERE r.user_id = ?
+          AND r.month = ?
+        GROUP BY c.name
+        ORDER BY expense DESC, c.name
+    """;
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        Map<String, BigDecimal> expenseByCategory = new LinkedHashMap<>();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            pstmt.setDate(2, Date.valueOf(month.atDay(1)));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal categoryIncome = rs.getBigDecimal("income");
+                    BigDecimal categoryExpense = rs.getBigDecimal("expense");
+                    income = income.add(categoryIncome);
+                    expense = expense.add(categoryExpense);
+                    if (categoryExpense.signum() != 0) {
+                        expenseByCategory.put(rs.getString("category_name"), categoryExpense);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return new MonthlySummary(month, income, expense, expenseByCategory);
+    }
+
     public boolean insertTransaction(Transaction transaction) {
-        String sql = "INSERT INTO transactions (type, amount, category_id, description, date, user_id) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, transaction.getType().name());
-            pstmt.setDouble(2, transaction.getAmount());
-            pstmt.setInt(3, transaction.getCategory().getCategoryId());
-            pstmt.setString(4, transaction.getDescription());
-            pstmt.setDate(5, Date.valueOf(transaction.getDate()));
-            pstmt.setInt(6, transaction.getUserId());
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                bindInsert(pstmt, transaction);
+                int affectedRows = pstmt.executeUpdate();
+                if (transaction instanceof BaseTransaction base) {
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (keys.next()) base.setId(keys.getInt(1));
+                    }
+                }
+                MonthlyRollupDAO.Deltas deltas = new MonthlyRollupDAO.Deltas();
+                deltas.add(transaction, 1);
+                deltas.apply(connection);
+                connection.commit();
+                return affectedRows > 0;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the stored row with {@code transaction}'s values, matched by id, and moves
+     * its amount between rollup buckets accordingly. Returns false without writing if the
+     * row belongs to a user other than {@code transaction.getUserId()}.
+     */
+    public boolean updateTransaction(BaseTransaction transaction) {
+        String lockSql = "SELECT user_id, date, type, category_id, (amount * 100)::bigint AS amount_minor FROM transactions WHERE id = ? FOR UPDATE";
+        String updateSql = "UPDATE transactions SET type = ?, amount = ?, category_id = ?, description = ?, date = ? WHERE id = ?";
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(lockSql);
+                 PreparedStatement update = connection.prepareStatement(updateSql)) {
+                MonthlyRollupDAO.Deltas deltas = new MonthlyRollupDAO.Deltas();
+                lock.setInt(1, transaction.getId());
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next()) {
+                        connection.rollback();
+                        return false;
+                    }
+                    // The UPDATE never moves a row between users, so the rollup delta below must not either
+                    if (rs.getInt("user_id") != transaction.getUserId()) {
+                        connection.rollback();
+                        System.err.println("❌ Transaction " + transaction.getId() + " does not belong to user " + transaction.getUserId());
+                        return false;
+                    }
+                    retract(deltas, rs);
+                }
+
+                update.setString(1, transaction.getType().name());
+                update.setBigDecimal(2, Money.toBigDecimal(transaction.getAmountMinor()));
+                update.setInt(3, transaction.getCategory().getCategoryId());
+                update.setString(4, transaction.getDescription());
+                update.setDate(5, Date.valueOf(transaction.getDate()));
+                update.setInt(6, transaction.getId());
+                update.executeUpdate();
+
+                deltas.add(transaction, 1);
+                deltas.apply(connection);
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean deleteTransaction(int transactionId) {
+        String sql = "DELETE FROM transactions WHERE id = ? RETURNING user_id, date, type, category_id, (amount * 100)::bigint AS amount_minor";
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setInt(1, transactionId);
+                MonthlyRollupDAO.Deltas deltas = new MonthlyRollupDAO.Deltas();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        connection.rollback();
+                        return false;
+                    }
+                    retract(deltas, rs);
+                }
+                deltas.apply(connection);
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    private static void retract(MonthlyRollupDAO.Deltas deltas, ResultSet rs) throws SQLException {
+        deltas.add(rs.getInt("user_id"), rs.getDate("date").toLocalDate(),
+                TransactionType.valueOf(rs.getString("type")), rs.getInt("category_id"),
+                rs.getLong("amount_minor"), -1);
+    }
+
+    /**
+     * Inserts rows with JDBC batching, one database transaction per batch of
+     * {@link #setBatchSize batchSize} rows. If a batch is rejected it is rolled back and
+     * replayed row by row so only the offending rows are reported as {@link InsertOutcome#FAILED}.
+     *
+     * @return one outcome per input row, in iteration order
+     */
+    public List<InsertOutcome> insertTransactions(Collection<? extends Transaction> transactions) {
+        List<Transaction> rows = new ArrayList<>(transactions);
+        List<InsertOutcome> outcomes = new ArrayList<>(Collections.nCopies(rows.size(), InsertOutcome.FAILED));
+        if (rows.isEmpty()) return outcomes;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(INSERT_SQL)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    insertBatch(connection, pstmt, rows, from, Math.min(from + batchSize, rows.size()), outcomes);
+                }
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return outcomes;
+    }
+
+    private void insertBatch(Connection connection, PreparedStatement pstmt, List<Transaction> rows,
+                             int from, int to, List<InsertOutcome> outcomes) throws SQLException {
+        MonthlyRollupDAO.Deltas deltas = new MonthlyRollupDAO.Deltas();
+        try {
+            for (int i = from; i < to; i++) {
+                bindInsert(pstmt, rows.get(i));
+                pstmt.addBatch();
+                deltas.add(rows.get(i), 1);
+            }
+            pstmt.executeBatch();
+            deltas.apply(connection);
+            connection.commit();
+            for (int i = from; i < to; i++) outcomes.set(i, InsertOutcome.INSERTED);
+        } catch (SQLException | RuntimeException batchError) {
+            // A row that can't even be bound (e.g. a null field) fails alone, like a constraint violation
+            connection.rollback();
+            pstmt.clearBatch();
+            deltas.clear();
+            for (int i = from; i < to; i++) {
+                try {
+                    bindInsert(pstmt, rows.get(i));
+                    pstmt.executeUpdate();
+                    deltas.add(rows.get(i), 1);
+                    deltas.apply(connection);
+                    connection.commit();
+                    outcomes.set(i, InsertOutcome.INSERTED);
+                } catch (SQLException | RuntimeException rowError) {
+                    connection.rollback();
+                    deltas.clear();
+                    System.err.println("❌ Row " + i + " rejected: " + rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, Transaction transaction) throws SQLException {
+        pstmt.setString(1, transaction.getType().name());
+        pstmt.setBigDecimal(2, Money.toBigDecimal(transaction.getAmountMinor()));
+        pstmt.setInt(3, transaction.getCategory().getCategoryId());
+        pstmt.setString(4, transaction.getDescription());
+        pstmt.setDate(5, Date.valueOf(transaction.getDate()));
+        pstmt.setInt(6, transaction.getUserId());
+    }
+
     public List<Transaction> getAllTransactions() {
-        String sql = "SELECT * FROM transactions ORDER BY date DESC";
+        String sql = SELECT_WITH_CATEGORY + "ORDER BY t.date DESC";
         List<Transaction> transactions = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                TransactionType type = TransactionType.valueOf(rs.getString("type"));
-                double amount = rs.getDouble("amount");
-                int categoryId = rs.getInt("category_id");
-                String description = rs.getString("description");
-                LocalDate date = rs.getDate("date").toLocalDate();
-                int userId = rs.getInt("user_id");
-
-                Category category = service.getById(categoryId);
-                
                 //create transaction with factory method
-                transactions.add(TransactionFactory.createTransaction(type, amount, category, description, date, userId));
+                transactions.add(mapRow(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -96,24 +336,41 @@ public class TransactionDAO {
 
     public List<BaseTransaction> getAllByUser(int userId) {
         List<BaseTransaction> transactions = new ArrayList<>();
-        String sql = "SELECT t.type, t.amount, t.description, t.date, t.category_id, t.user_id " +
-                "FROM transactions t JOIN category c ON t.category_id = c.id " +
-                "WHERE t.user_id = ? ORDER BY t.date DESC";
+        String sql = SELECT_WITH_CATEGORY + "WHERE t.user_id = ? ORDER BY t.date DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-            while (rs.next()) {
-                TransactionType type = TransactionType.valueOf(rs.getString("type"));
-                double amount = rs.getDouble("amount");
-                String description = rs.getString("description");
-                LocalDate date = rs.getDate("date").toLocalDate();
-                int categoryId = rs.getInt("category_id");
-                int userIdFromDB = rs.getInt("user_id");
+        return transactions;
+    }
 
-                Category category = service.getById(categoryId); // we added this earlier
-                transactions.add(TransactionFactory.createTransaction(type, amount, category, description, date, userIdFromDB));
+    /**
+     * A user's transactions for one month. The half-open range on the bare {@code date}
+     * column (rather than EXTRACT/date_trunc) keeps the predicate prunable, so only that
+     * month's partition is scanned.
+     */
+    public List<BaseTransaction> getByUserInMonth(int userId, YearMonth month) {
+        List<BaseTransaction> transactions = new ArrayList<>();
+        String sql = SELECT_WITH_CATEGORY + "WHERE t.user_id = ? AND t.date >= ? AND t.date < ? ORDER BY t.date DESC, t.id DESC";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            stmt.setDate(2, Date.valueOf(month.atDay(1)));
+            stmt.setDate(3, Date.valueOf(month.plusMonths(1).atDay(1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapRow(rs));
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -122,4 +379,309 @@ public class TransactionDAO {
         return transactions;
     }
 
-}
\ No newline at end of file
+    /* ================= KEYSET PAGINATION ================= */
+
+    /**
+     * Returns up to {@code pageSize} of a user's transactions ordered by (date, id) descending,
+     * starting strictly after {@code after} (or from the newest row when {@code after} is null).
+     * Filters and the seek predicate are evaluated in SQL, so cost is proportional to the page,
+     * not to the user's history.
+     */
+    public TransactionPage getPageByUser(int userId, TransactionFilter filter, TransactionPage.Key after, int pageSize) {
+        StringBuilder sql = new StringBuilder(SELECT_WITH_CATEGORY).append("WHERE t.user_id = ? ");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        appendFilter(sql, params, filter);
+        if (after != null) {
+            // The plain date bound is redundant with the row comparison, but it is what
+            // lets the planner skip partitions newer than the cursor
+            sql.append("AND t.date <= ? AND (t.date, t.id) < (?, ?) ");
+            params.add(Date.valueOf(after.date()));
+            params.add(Date.valueOf(after.date()));
+            params.add(after.id());
+        }
+        sql.append("ORDER BY t.date DESC, t.id DESC LIMIT ?");
+        params.add(pageSize + 1); // one extra row tells us whether another page exists
+
+        List<BaseTransaction> items = new ArrayList<>(pageSize + 1);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        if (items.size() <= pageSize) {
+            return new TransactionPage(items, null);
+        }
+        items.remove(items.size() - 1);
+        BaseTransaction last = items.get(items.size() - 1);
+        return new TransactionPage(items, new TransactionPage.Key(last.getDate(), last.getId()));
+    }
+
+    /**
+     * Rows {@code [offset, offset + limit)} of the filtered history in {@code sort} order,
+     * for screens that jump to arbitrary positions. OFFSET walks the index from the start,
+     * so prefer {@link #getPageByUser} when reading sequentially.
+     */
+    public List<BaseTransaction> getWindowByUser(int userId, TransactionFilter filter, TransactionSort sort,
+                                                 int offset, int limit) {
+        return getWindowByUser(userId, filter, sort, null, offset, limit);
+    }
+
+    /**
+     * Same, but {@code offset} counts from the row just after {@code after} in {@code sort}
+     * order (from the first row when null). The index is entered at the key, so OFFSET only
+     * walks the distance from a row the caller already has, not from the start.
+     */
+    public List<BaseTransaction> getWindowByUser(int userId, TransactionFilter filter, TransactionSort sort,
+                                                 TransactionSort.Key after, int offset, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_WITH_CATEGORY).append("WHERE t.user_id = ? ");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        appendFilter(sql, params, filter);
+        if (after != null) {
+            String op = sort.descending() ? "<" : ">";
+            if (sort.byDate()) {
+                // Plain date bound for partition pruning, as in getPageByUser
+                Date day = Date.valueOf(LocalDate.ofEpochDay(after.value()));
+                sql.append("AND t.date ").append(op).append("= ? AND (t.date, t.id) ").append(op).append(" (?, ?) ");
+                params.add(day);
+                params.add(day);
+            } else {
+                sql.append("AND (t.amount, t.id) ").append(op).append(" (?, ?) ");
+                params.add(Money.toBigDecimal(after.value()));
+            }
+            params.add(after.id());
+        }
+        sql.append(switch (sort) {
+            case DATE_DESC -> "ORDER BY t.date DESC, t.id DESC ";
+            case DATE_ASC -> "ORDER BY t.date, t.id ";
+            case AMOUNT_DESC -> "ORDER BY t.amount DESC, t.id DESC ";
+            case AMOUNT_ASC -> "ORDER BY t.amount, t.id ";
+        });
+        sql.append("OFFSET ? LIMIT ?");
+        params.add(offset);
+        params.add(limit);
+
+        List<BaseTransaction> items = new ArrayList<>(limit);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return items;
+    }
+
+    /** Number of rows {@link #getWindowByUser} can return for this filter; -1 on error. */
+    public int countByUser(int userId, TransactionFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM transactions t WHERE t.user_id = ? ");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        appendFilter(sql, params, filter);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> params, TransactionFilter filter) {
+        if (filter == null) return;
+        if (filter.type() != null) {
+            sql.append("AND t.type = ? ");
+            params.add(filter.type().name());
+        }
+        if (filter.categoryId() != null) {
+            sql.append("AND t.category_id = ? ");
+            params.add(filter.categoryId());
+        }
+        if (filter.from() != null) {
+            sql.append("AND t.date >= ? ");
+            params.add(Date.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append("AND t.date <= ? ");
+            params.add(Date.valueOf(filter.to()));
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    /* ================= STREAMING READS ================= */
+
+    /**
+     * Streams a user's transactions (newest first) through a server-side cursor, holding
+     * at most one fetch of rows in memory. The stream owns a pooled connection and must
+     * be closed, e.g. with try-with-resources.
+     */
+    public Stream<BaseTransaction> streamByUser(int userId) {
+        return stream(SELECT_WITH_CATEGORY + "WHERE t.user_id = ? ORDER BY t.date DESC",
+                stmt -> stmt.setInt(1, userId));
+    }
+
+    /** Streams every transaction (newest first). Must be closed like {@link #streamByUser(int)}. */
+    public Stream<BaseTransaction> streamAll() {
+        return stream(SELECT_WITH_CATEGORY + "ORDER BY t.date DESC", stmt -> {});
+    }
+
+    /** Visits each of a user's transactions without materializing the list. */
+    public void forEachByUser(int userId, Consumer<? super BaseTransaction> action) {
+        try (Stream<BaseTransaction> rows = streamByUser(userId)) {
+            rows.forEach(action);
+        }
+    }
+
+    private static Category internCategory(ResultSet rs) throws SQLException {
+        return CategoryRegistry.intern(rs.getInt("category_id"),
+                rs.getString("category_name"),
+                TransactionType.valueOf(rs.getString("category_type")),
+                rs.getInt("category_user_id"));
+    }
+
+    /* ================= COLUMNAR ================= */
+
+    /**
+     * Loads a user's transactions with {@code from <= date < to} into a columnar
+     * {@link TransactionBatch}, reading the cursor straight into primitive columns
+     * without building a {@link BaseTransaction} per row. Either bound may be null.
+     */
+    public TransactionBatch loadBatch(int userId, LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder(SELECT_WITH_CATEGORY).append("WHERE t.user_id = ? ");
+        if (from != null) sql.append("AND t.date >= ? ");
+        if (to != null) sql.append("AND t.date < ? ");
+        sql.append("ORDER BY t.date, t.id");
+
+        TransactionBatch.Builder batch = new TransactionBatch.Builder(fetchSize);
+        try (Cursor cursor = new Cursor()) {
+            cursor.open(dataSource, sql.toString(), stmt -> {
+                int i = 1;
+                stmt.setInt(i++, userId);
+                if (from != null) stmt.setDate(i++, Date.valueOf(from));
+                if (to != null) stmt.setDate(i, Date.valueOf(to));
+            }, fetchSize);
+
+            ResultSet rs = cursor.rs;
+            while (rs.next()) {
+                Category category = internCategory(rs);
+                batch.add(rs.getInt("id"),
+                        TransactionType.valueOf(rs.getString("type")),
+                        rs.getLong("amount_minor"),
+                        (int) rs.getDate("date").toLocalDate().toEpochDay(),
+                        category,
+                        rs.getString("description"));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load transaction batch", e);
+        }
+        return batch.build();
+    }
+
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    private Stream<BaseTransaction> stream(String sql, ParameterBinder binder) {
+        Cursor cursor = new Cursor();
+        try {
+            cursor.open(dataSource, sql, binder, fetchSize);
+        } catch (SQLException e) {
+            cursor.close();
+            throw new IllegalStateException("Failed to open transaction cursor", e);
+        }
+        Spliterator<BaseTransaction> rows = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super BaseTransaction> action) {
+                try {
+                    if (!cursor.rs.next()) return false;
+                    action.accept(mapRow(cursor.rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Failed to read transaction row", e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(cursor::close);
+    }
+
+    /**
+     * Connection, statement and result set behind one streaming read. PostgreSQL only
+     * honours the fetch size (and uses a cursor) when autocommit is off.
+     */
+    private static final class Cursor implements AutoCloseable {
+        private Connection connection;
+        private PreparedStatement stmt;
+        private ResultSet rs;
+
+        void open(DataSource dataSource, String sql, ParameterBinder binder, int fetchSize) throws SQLException {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            binder.bind(stmt);
+            rs = stmt.executeQuery();
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (rs != null) rs.close();
+                if (stmt != null) stmt.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            if (connection == null) return;
+            try {
+                connection.rollback(); // read-only; just ends the cursor's transaction
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Builds a transaction from a {@link #SELECT_WITH_CATEGORY} row. The category comes
+     * from the joined columns via {@link CategoryRegistry}, so every row with the same
+     * category id shares one instance.
+     */
+    private BaseTransaction mapRow(ResultSet rs) throws SQLException {
+        TransactionType type = TransactionType.valueOf(rs.getString("type"));
+        long amountMinor = rs.getLong("amount_minor");
+        String description = rs.getString("description");
+        LocalDate date = rs.getDate("date").toLocalDate();
+        int userId = rs.getInt("user_id");
+        Category category = internCategory(rs);
+        BaseTransaction transaction = TransactionFactory.createTransaction(type, amountMinor, category, description, date, userId);
+        transaction.setId(rs.getInt("id"));
+        return transaction;
+    }
+
+}
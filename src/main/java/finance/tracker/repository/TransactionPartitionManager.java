@@ -0,0 +1,217 @@
+package finance.tracker.repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the date-range partitions of {@code transactions} (see V4 migration) ahead of
+ * the calendar. Creates monthly or yearly partitions for the current period and the
+ * next {@code ahead} periods, and splits out of the DEFAULT partition any period that
+ * has rows there (e.g. an imported statement from years ago).
+ *
+ * <p>Periods partly covered by existing partitions (e.g. a year when V4 already made
+ * monthly ones) only get partitions for the uncovered gaps, so no date is left to DEFAULT.
+ */
+public class TransactionPartitionManager implements AutoCloseable {
+
+    public enum Granularity {
+        MONTH, YEAR;
+
+        LocalDate start(LocalDate date) {
+            return this == MONTH ? date.withDayOfMonth(1) : date.withDayOfYear(1);
+        }
+
+        LocalDate next(LocalDate start) {
+            return this == MONTH ? start.plusMonths(1) : start.plusYears(1);
+        }
+
+        String suffix(LocalDate start) {
+            return start.format(DateTimeFormatter.ofPattern(this == MONTH ? "yyyy_MM" : "yyyy"));
+        }
+    }
+
+    /** A partition's {@code [from, to)} date bound. */
+    record Range(LocalDate from, LocalDate to) {
+        boolean overlaps(LocalDate start, LocalDate end) {
+            return from.isBefore(end) && start.isBefore(to);
+        }
+    }
+
+    private static final DateTimeFormatter GAP_NAME = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private static final Pattern BOUND = Pattern.compile("FROM \\('([0-9-]+)'\\) TO \\('([0-9-]+)'\\)");
+
+    private static final String LIST_PARTITIONS = """
+        SELECT pg_get_expr(c.relpartbound, c.oid)
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'transactions'::regclass
+    """;
+
+    private final DataSource dataSource;
+    private final Granularity granularity;
+    private final int ahead;
+    private ScheduledExecutorService scheduler;
+
+    public TransactionPartitionManager(DataSource dataSource, Granularity granularity, int ahead) {
+        this.dataSource = dataSource;
+        this.granularity = granularity;
+        this.ahead = ahead;
+    }
+
+    /**
+     * Creates whatever partitions are missing.
+     *
+     * @return names of the partitions created
+     */
+    public List<String> ensurePartitions() throws SQLException {
+        List<String> created = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            // Same lock as SchemaMigrator: several processes starting together would race to CREATE the same partition
+            SchemaMigrator.lock(connection, true);
+            try {
+                ensurePartitions(connection, created);
+            } finally {
+                SchemaMigrator.lock(connection, false);
+            }
+        }
+        return created;
+    }
+
+    private void ensurePartitions(Connection connection, List<String> created) throws SQLException {
+        List<Range> existing = existingRanges(connection);
+
+        TreeSet<LocalDate> wanted = new TreeSet<>(periodsInDefault(connection));
+        LocalDate period = granularity.start(LocalDate.now());
+        for (int i = 0; i <= ahead; i++) {
+            wanted.add(period);
+            period = granularity.next(period);
+        }
+
+        for (LocalDate start : wanted) {
+            LocalDate end = granularity.next(start);
+            for (Range gap : gaps(new Range(start, end), existing)) {
+                String name = gap.equals(new Range(start, end))
+                        ? "transactions_p" + granularity.suffix(start)
+                        : "transactions_p" + gap.from().format(GAP_NAME) + "_" + gap.to().format(GAP_NAME);
+                createPartition(connection, name, gap.from(), gap.to());
+                existing.add(gap);
+                created.add(name);
+            }
+        }
+    }
+
+    /**
+     * Creates the partition detached, moves matching rows out of DEFAULT, then attaches
+     * it, all in one database transaction. Attaching directly would fail whenever DEFAULT
+     * already holds rows for the range.
+     */
+    private static void createPartition(Connection connection, String name, LocalDate start, LocalDate end) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement move = connection.prepareStatement(
+                     "WITH moved AS (DELETE FROM transactions_default WHERE date >= ? AND date < ? RETURNING *) "
+                             + "INSERT INTO " + name + " SELECT * FROM moved")) {
+            stmt.execute("CREATE TABLE " + name + " (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            move.setDate(1, Date.valueOf(start));
+            move.setDate(2, Date.valueOf(end));
+            int moved = move.executeUpdate();
+            stmt.execute("ALTER TABLE transactions ATTACH PARTITION " + name
+                    + " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+            connection.commit();
+            System.out.println("🗂️ Created partition " + name + (moved > 0 ? " (" + moved + " rows moved from default)" : ""));
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static List<Range> existingRanges(Connection connection) throws SQLException {
+        List<Range> ranges = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(LIST_PARTITIONS)) {
+            while (rs.next()) {
+                Range range = parseBound(rs.getString(1));
+                if (range != null) ranges.add(range);
+            }
+        }
+        return ranges;
+    }
+
+    /** Sub-ranges of {@code period} not covered by any of {@code existing}, in date order. */
+    static List<Range> gaps(Range period, List<Range> existing) {
+        List<Range> covering = existing.stream()
+                .filter(r -> r.overlaps(period.from(), period.to()))
+                .sorted(Comparator.comparing(Range::from))
+                .toList();
+        List<Range> gaps = new ArrayList<>();
+        LocalDate cursor = period.from();
+        for (Range r : covering) {
+            if (r.from().isAfter(cursor)) gaps.add(new Range(cursor, r.from()));
+            if (r.to().isAfter(cursor)) cursor = r.to();
+        }
+        if (cursor.isBefore(period.to())) gaps.add(new Range(cursor, period.to()));
+        return gaps;
+    }
+
+    /** Parses {@code FOR VALUES FROM ('2025-07-01') TO ('2025-08-01')}; null for DEFAULT. */
+    static Range parseBound(String bound) {
+        Matcher m = BOUND.matcher(bound);
+        return m.find() ? new Range(LocalDate.parse(m.group(1)), LocalDate.parse(m.group(2))) : null;
+    }
+
+    private List<LocalDate> periodsInDefault(Connection connection) throws SQLException {
+        String unit = granularity == Granularity.MONTH ? "month" : "year";
+        List<LocalDate> periods = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT DISTINCT date_trunc('" + unit + "', date)::date FROM transactions_default")) {
+            while (rs.next()) {
+                periods.add(rs.getDate(1).toLocalDate());
+            }
+        }
+        return periods;
+    }
+
+    /** Runs {@link #ensurePartitions} now and then every {@code periodHours} on a daemon thread. */
+    public synchronized void start(long periodHours) {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "partition-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                ensurePartitions();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }, 0, periodHours, TimeUnit.HOURS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
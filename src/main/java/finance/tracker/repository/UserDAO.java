@@ -2,18 +2,24 @@ package finance.tracker.repository;
 
 import finance.tracker.model.User;
 
+import javax.sql.DataSource;
 import java.sql.*;
 
     public class UserDAO {
-        private final Connection conn;
+        private final DataSource dataSource;
+
+        public UserDAO(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
 
         public UserDAO(Connection conn) {
-            this.conn = conn;
+            this(new SingleConnectionDataSource(conn));
         }
 
         public User login(String email, String password) {
             String sql = "SELECT id, email, username FROM users WHERE email = ? AND password = ? ";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, email);
                 stmt.setString(2, password); // ⚠️ we'll hash later
                 ResultSet rs = stmt.executeQuery();
@@ -31,7 +37,8 @@ import java.sql.*;
 
         public boolean register(String email, String password, String username) {
             String sql = "INSERT INTO users (email, password, username) VALUES (?, ?, ?)";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, email);
                 stmt.setString(2, password);
                 stmt.setString(3, username);
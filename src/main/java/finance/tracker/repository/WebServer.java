@@ -1,25 +1,77 @@
 package finance.tracker.repository;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Money;
+import finance.tracker.model.MonthlySummary;
+import finance.tracker.model.TransactionFilter;
+import finance.tracker.model.TransactionPage;
+import finance.tracker.model.TransactionType;
+import finance.tracker.service.AsyncServices;
+import finance.tracker.service.CategoryService;
+import finance.tracker.service.LedgerEngine;
 import finance.tracker.service.TransactionService;
+import finance.tracker.service.UserService;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import static spark.Spark.*;
 
 public class WebServer {
+    /** Body of the dashboard route: the picked month, the month before it and the latest transactions. */
+    private record Dashboard(MonthlySummary month, MonthlySummary previousMonth, TransactionPage recent) {}
+
     public static void main(String[] args) {
         port(4567);
-        Gson gson = new Gson();
-        Connection conn = DatabaseConnector.getInstance();
-        TransactionDAO dao = new TransactionDAO(conn);
-        TransactionService service = new TransactionService(dao);
+        Gson gson = createGson();
+        DataSource db = DatabaseConnector.getInstance();
+        TransactionDAO dao = new TransactionDAO(db);
+        LedgerEngine ledger = TransactionService.ledgerFromSystemProperties(dao);
+        TransactionService service = new TransactionService(dao, ledger);
+        // For routes that run independent queries side by side
+        AsyncServices async = new AsyncServices(service, new CategoryService(new CategoryDAO(db)),
+                new UserService(new UserDAO(db)), Duration.ofSeconds(Long.getLong("web.callTimeoutSeconds", 10)));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            async.close();
+            DatabaseConnector.shutdown();
+        }));
 
         // Test route
         get("/", (req, res) -> "✅ Finance Tracker Backend is running!");
 
-        // POST route to add a transaction
+        // Connection pool metrics
+        get("/health/pool", (req, res) -> {
+            res.type("application/json");
+            return gson.toJson(DatabaseConnector.getPoolStats());
+        });
+
+        // In-memory ledger metrics (404 when the ledger is disabled)
+        get("/health/ledger", (req, res) -> {
+            if (ledger == null) {
+                res.status(404);
+                return "Ledger disabled";
+            }
+            res.type("application/json");
+            return gson.toJson(ledger.getStats());
+        });
+
+        // POST route to add a transaction. Amounts travel as "amountMinor", integer cents,
+        // so JSON never round-trips money through a binary double.
 
         post("/transactions", (req, res) -> {
             System.out.println("📥 Incoming JSON: " + req.body());  // log JSON
@@ -32,8 +84,123 @@ public class WebServer {
             }
 
             boolean success = service.addTransaction(incoming);
+            if (!success) res.status(500); // clients (and LoadDriver) go by the status
             res.type("application/json");
             return gson.toJson(success ? "✅ Transaction saved!" : "❌ Failed to save transaction.");
         });
+
+        // Bulk insert: JSON array of transactions, answers with one outcome per element
+        post("/transactions/bulk", (req, res) -> {
+            BaseTransaction[] incoming = gson.fromJson(req.body(), BaseTransaction[].class);
+            res.type("application/json");
+            return gson.toJson(service.addTransactions(Arrays.asList(incoming)));
+        });
+
+        // Keyset-paginated listing: ?type=&categoryId=&from=&to=&afterDate=&afterId=&limit=
+        get("/users/:userId/transactions", (req, res) -> {
+            int userId = Integer.parseInt(req.params("userId"));
+            TransactionFilter filter = new TransactionFilter(
+                    optional(req.queryParams("type"), TransactionType::valueOf),
+                    optional(req.queryParams("categoryId"), Integer::valueOf),
+                    optional(req.queryParams("from"), LocalDate::parse),
+                    optional(req.queryParams("to"), LocalDate::parse));
+            LocalDate afterDate = optional(req.queryParams("afterDate"), LocalDate::parse);
+            Integer afterId = optional(req.queryParams("afterId"), Integer::valueOf);
+            TransactionPage.Key after = afterDate != null && afterId != null
+                    ? new TransactionPage.Key(afterDate, afterId) : null;
+            int limit = Integer.parseInt(req.queryParamOrDefault("limit", "50"));
+
+            res.type("application/json");
+            return gson.toJson(service.getPage(userId, filter, after, limit));
+        });
+
+        // Month totals for the dashboard: ?month=yyyy-MM (defaults to the current month)
+        get("/users/:userId/summary", (req, res) -> {
+            int userId = Integer.parseInt(req.params("userId"));
+            YearMonth month = optional(req.queryParams("month"), YearMonth::parse);
+            res.type("application/json");
+            return gson.toJson(service.getMonthlySummary(userId, month != null ? month : YearMonth.now()));
+        });
+
+        // Everything the dashboard shows in one round trip; the three queries run concurrently,
+        // so the response takes as long as the slowest of them rather than their sum
+        get("/users/:userId/dashboard", (req, res) -> {
+            int userId = Integer.parseInt(req.params("userId"));
+            YearMonth month = optional(req.queryParams("month"), YearMonth::parse);
+            if (month == null) month = YearMonth.now();
+            int limit = Integer.parseInt(req.queryParamOrDefault("limit", "10"));
+
+            CompletableFuture<MonthlySummary> current = async.getMonthlySummary(userId, month);
+            CompletableFuture<MonthlySummary> previous = async.getMonthlySummary(userId, month.minusMonths(1));
+            CompletableFuture<TransactionPage> recent = async.getPage(userId, TransactionFilter.NONE, null, limit);
+            res.type("application/json");
+            return gson.toJson(new Dashboard(await(current), await(previous), await(recent)));
+        });
+
+        exception(IllegalArgumentException.class, (e, req, res) -> {
+            res.status(400);
+            res.body(e.getMessage());
+        });
+        exception(DateTimeParseException.class, (e, req, res) -> {
+            res.status(400);
+            res.body("Dates must be formatted as yyyy-MM-dd");
+        });
+
+        // CSV export, written row by row straight from the DB cursor
+        get("/users/:userId/transactions.csv", (req, res) -> {
+            int userId = Integer.parseInt(req.params("userId"));
+            res.type("text/csv");
+            PrintWriter out = res.raw().getWriter();
+            out.println("date,type,amount,category,description");
+            service.forEachByUser(userId, tx -> out.println(String.join(",",
+                    tx.getDate().toString(),
+                    tx.getType().name(),
+                    Money.format(tx.getAmountMinor()),
+                    csv(tx.getCategory().getCategoryName()),
+                    csv(tx.getDescription()))));
+            out.flush();
+            return "";
+        });
+    }
+
+    /** The JSON mapping used by every route; public so benchmarks measure the same configuration. */
+    public static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(LocalDate.class, new LocalDateAdapter().nullSafe())
+                .registerTypeAdapter(YearMonth.class, new YearMonthAdapter().nullSafe())
+                .create();
+    }
+
+    /** join() that rethrows the call's own RuntimeException, so the exception routes above still apply. */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static <T> T optional(String raw, Function<String, T> parser) {
+        return raw == null || raw.isBlank() ? null : parser.apply(raw.trim());
+    }
+
+    /** Gson cannot reflect into java.time on recent JDKs, so dates travel as ISO strings. */
+    private static class LocalDateAdapter extends TypeAdapter<LocalDate> {
+        @Override public void write(JsonWriter out, LocalDate value) throws IOException { out.value(value.toString()); }
+        @Override public LocalDate read(JsonReader in) throws IOException { return LocalDate.parse(in.nextString()); }
+    }
+
+    private static class YearMonthAdapter extends TypeAdapter<YearMonth> {
+        @Override public void write(JsonWriter out, YearMonth value) throws IOException { out.value(value.toString()); }
+        @Override public YearMonth read(JsonReader in) throws IOException { return YearMonth.parse(in.nextString()); }
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
 }
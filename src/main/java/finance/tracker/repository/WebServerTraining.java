@@ -0,0 +1,55 @@
+package finance.tracker.repository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static spark.Spark.awaitInitialization;
+import static spark.Spark.stop;
+
+/**
+ * Training run for the web AOT cache built by the {@code cds} Maven profile: starts
+ * {@link WebServer}, sends the requests a client typically makes first (including one
+ * transaction POST) and exits, so the JVM records the Spark, Jetty and Gson classes
+ * they load.
+ *
+ * <p>The POST really inserts a row, so point {@code -Ddb.url} at a scratch database.
+ * User and category come from {@code -Dtraining.userId} and {@code -Dtraining.categoryId}.
+ */
+public class WebServerTraining {
+    public static void main(String[] args) throws Exception {
+        int userId = Integer.getInteger("training.userId", 1);
+        int categoryId = Integer.getInteger("training.categoryId", 1);
+
+        WebServer.main(args);
+        awaitInitialization();
+
+        String base = "http://localhost:4567";
+        HttpClient client = HttpClient.newHttpClient();
+        send(client, HttpRequest.newBuilder(URI.create(base + "/")).build());
+        send(client, HttpRequest.newBuilder(URI.create(base + "/health/pool")).build());
+        send(client, HttpRequest.newBuilder(URI.create(base + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"type": "EXPENSE", "amountMinor": 1250, "description": "AOT training",
+                         "date": "%s", "userId": %d,
+                         "category": {"categoryId": %d, "transactionType": "EXPENSE", "userId": %d}}
+                        """.formatted(LocalDate.now(), userId, categoryId, userId)))
+                .build());
+        send(client, HttpRequest.newBuilder(URI.create(base + "/users/" + userId + "/summary?month=" + YearMonth.now())).build());
+        send(client, HttpRequest.newBuilder(URI.create(base + "/users/" + userId + "/transactions?limit=20")).build());
+        send(client, HttpRequest.newBuilder(URI.create(base + "/users/" + userId + "/dashboard")).build());
+
+        stop();
+        DatabaseConnector.shutdown();
+        System.exit(0); // the AOT configuration is written on exit
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        System.out.println("🏋️ " + request.method() + " " + request.uri().getPath() + " → " + response.statusCode());
+    }
+}
@@ -0,0 +1,170 @@
+package finance.tracker.service;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.MonthlySummary;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.model.TransactionFilter;
+import finance.tracker.model.TransactionPage;
+import finance.tracker.model.TransactionSort;
+import finance.tracker.model.TransactionType;
+import finance.tracker.model.User;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking view of the services: every call runs on its own virtual thread and
+ * returns a {@link CompletableFuture}, so the EDT or a Jetty worker can start several
+ * independent queries and combine them. Concurrency against the database is still
+ * bounded by the connection pool.
+ *
+ * <p>A future that times out or is cancelled interrupts the thread running the call.
+ * An interrupted pool wait fails fast. A connection handed back by the interrupted
+ * thread is closed and discarded by the pool instead of being recycled. The query
+ * itself is not cancelled: JDBC socket reads ignore interrupts, so the call returns
+ * only when the driver does.
+ */
+public class AsyncServices implements AutoCloseable {
+    private final TransactionService transactions;
+    private final CategoryService categories;
+    private final UserService users;
+    private final Duration defaultTimeout;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("service-", 0).factory());
+
+    public AsyncServices(TransactionService transactions, CategoryService categories, UserService users,
+                         Duration defaultTimeout) {
+        this.transactions = transactions;
+        this.categories = categories;
+        this.users = users;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /** Runs {@code call} with the default timeout. */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return submit(call, defaultTimeout);
+    }
+
+    /**
+     * Runs {@code call} on a virtual thread. The future fails with a
+     * {@link java.util.concurrent.TimeoutException} once {@code timeout} elapses;
+     * either that or {@code cancel} interrupts the call.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    if (error != null) task.cancel(true);
+                });
+        return result;
+    }
+
+    /* ================= TRANSACTIONS ================= */
+
+    public CompletableFuture<Boolean> addTransaction(Transaction tx) {
+        return submit(() -> transactions.addTransaction(tx));
+    }
+
+    public CompletableFuture<Boolean> updateTransaction(BaseTransaction tx) {
+        return submit(() -> transactions.updateTransaction(tx));
+    }
+
+    public CompletableFuture<Boolean> deleteTransaction(int transactionId) {
+        return submit(() -> transactions.deleteTransaction(transactionId));
+    }
+
+    public CompletableFuture<List<BaseTransaction>> getAllByUser(int userId) {
+        return submit(() -> transactions.getAllByUser(userId));
+    }
+
+    public CompletableFuture<TransactionPage> getPage(int userId, TransactionFilter filter,
+                                                      TransactionPage.Key after, int pageSize) {
+        return submit(() -> transactions.getPage(userId, filter, after, pageSize));
+    }
+
+    public CompletableFuture<List<BaseTransaction>> getWindow(int userId, TransactionFilter filter, TransactionSort sort,
+                                                              TransactionSort.Key after, int offset, int limit) {
+        return submit(() -> transactions.getWindow(userId, filter, sort, after, offset, limit));
+    }
+
+    public CompletableFuture<Integer> countTransactions(int userId, TransactionFilter filter) {
+        return submit(() -> transactions.countTransactions(userId, filter));
+    }
+
+    /** Columnar snapshot of {@code [from, to)}; null bounds are open. */
+    public CompletableFuture<TransactionBatch> loadBatch(int userId, LocalDate from, LocalDate to) {
+        return submit(() -> transactions.loadBatch(userId, from, to));
+    }
+
+    public CompletableFuture<List<BaseTransaction>> getByUserInMonth(int userId, YearMonth month) {
+        return submit(() -> transactions.getByUserInMonth(userId, month));
+    }
+
+    public CompletableFuture<MonthlySummary> getMonthlySummary(int userId, YearMonth month) {
+        return submit(() -> transactions.getMonthlySummary(userId, month));
+    }
+
+    public CompletableFuture<BigDecimal> getTotalByUserAndTypeInMonth(int userId, TransactionType type, YearMonth month) {
+        return submit(() -> transactions.getTotalByUserAndTypeInMonth(userId, type, month));
+    }
+
+    /* ================= CATEGORIES ================= */
+
+    public CompletableFuture<Boolean> addCategory(Category category) {
+        return submit(() -> categories.addCategory(category));
+    }
+
+    public CompletableFuture<Boolean> updateCategory(Category category) {
+        return submit(() -> categories.updateCategory(category));
+    }
+
+    public CompletableFuture<Boolean> deleteCategory(int categoryId) {
+        return submit(() -> categories.deleteCategory(categoryId));
+    }
+
+    public CompletableFuture<List<Category>> getAllCategoriesByUser(int userId) {
+        return submit(() -> categories.getAllByUser(userId));
+    }
+
+    public CompletableFuture<List<Category>> getCategoriesForUser(int userId) {
+        return submit(() -> categories.getCategoriesForUser(userId));
+    }
+
+    public CompletableFuture<Category> findCategory(String name, TransactionType type, int userId) {
+        return submit(() -> categories.findByNameTypeAndUserId(name, type, userId));
+    }
+
+    /* ================= USERS ================= */
+
+    public CompletableFuture<User> login(String email, String password) {
+        return submit(() -> users.login(email, password));
+    }
+
+    public CompletableFuture<Boolean> register(String email, String password, String username) {
+        return submit(() -> users.register(email, password, username));
+    }
+
+    /** Stops accepting calls; ones already running are left to finish. */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
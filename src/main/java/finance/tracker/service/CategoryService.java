@@ -4,30 +4,89 @@ import finance.tracker.model.Category;
 import finance.tracker.model.TransactionType;
 import finance.tracker.repository.CategoryDAO;
 
+import java.time.Duration;
 import java.util.List;
 
+/**
+ * Category reads go through bounded in-process caches (id → category, per-user lists,
+ * name/type lookups). Writes made through this service invalidate exactly the entries
+ * they affect; the TTL bounds staleness from writes made elsewhere (another process, or
+ * the statement importer, which talks to {@link CategoryDAO} directly).
+ */
 public class CategoryService {
+    private record NameKey(String name, TransactionType type, int userId) {}
+
     private final CategoryDAO catDao;
-    public CategoryService(CategoryDAO dao) { this.catDao = dao; }
+    private final LruCache<Integer, Category> byId;
+    private final LruCache<Integer, List<Category>> forUser;   // getCategoriesForUser
+    private final LruCache<Integer, List<Category>> allByUser; // getAllByUser
+    private final LruCache<NameKey, Category> byName;
+
+    public CategoryService(CategoryDAO dao) { this(dao, 5_000, Duration.ofMinutes(10)); }
 
-    public boolean addCategory(Category c) { return catDao.insertCategory(c); }
+    public CategoryService(CategoryDAO dao, int maxEntries, Duration ttl) {
+        this.catDao = dao;
+        this.byId = new LruCache<>(maxEntries, ttl);
+        this.forUser = new LruCache<>(Math.max(1, maxEntries / 10), ttl);
+        this.allByUser = new LruCache<>(Math.max(1, maxEntries / 10), ttl);
+        this.byName = new LruCache<>(maxEntries, ttl);
+    }
+
+    public boolean addCategory(Category c) {
+        boolean added = catDao.insertCategory(c);
+        invalidate(c);
+        return added;
+    }
 
     public List<Category> getAllByUser(int userId){
-        return catDao.getAllByUser(userId);
+        return allByUser.get(userId, id -> List.copyOf(catDao.getAllByUser(id)));
     }
     public List<Category> getCategoriesForUser(int userId){
-        return catDao.getCategoriesForUser(userId);
+        return forUser.get(userId, id -> {
+            long stamp = byId.stamp(); // before the read, so an update racing it blocks the seeding
+            List<Category> categories = List.copyOf(catDao.getCategoriesForUser(id));
+            categories.forEach(c -> byId.putIfCurrent(c.getCategoryId(), c, stamp));
+            return categories;
+        });
     }
     public Category getById(int categoryId) {
-        return catDao.getById(categoryId);
+        return byId.get(categoryId, catDao::getById);
     }
     public Category findByNameTypeAndUserId(String name, TransactionType type, int userId){
-        return catDao.findByNameTypeAndUserId(name, type, userId);
+        return byName.get(new NameKey(name, type, userId),
+                key -> catDao.findByNameTypeAndUserId(key.name(), key.type(), key.userId()));
     }
     public boolean updateCategory(Category category) {
-        return catDao.updateCategory(category);
+        // Read the stored row first: its old name key has to be invalidated too
+        Category before = catDao.getById(category.getCategoryId());
+        boolean updated = catDao.updateCategory(category);
+        invalidate(before);
+        invalidate(category);
+        return updated;
     }
     public boolean deleteCategory(int categoryId) {
-        return catDao.deleteCategory(categoryId);
+        Category before = catDao.getById(categoryId);
+        boolean deleted = catDao.deleteCategory(categoryId);
+        invalidate(before);
+        byId.invalidate(categoryId);
+        return deleted;
+    }
+
+    public LruCache.Stats getCacheStats() {
+        return byId.stats().plus(forUser.stats()).plus(allByUser.stats()).plus(byName.stats());
+    }
+
+    private void invalidate(Category c) {
+        if (c == null) return;
+        byId.invalidate(c.getCategoryId());
+        byName.invalidate(new NameKey(c.getCategoryName(), c.getTransactionType(), c.getUserId()));
+        if (c.getUserId() == 0) {
+            // Shared default category: it appears in every user's list
+            forUser.clear();
+            allByUser.clear();
+        } else {
+            forUser.invalidate(c.getUserId());
+            allByUser.invalidate(c.getUserId());
+        }
     }
 }
@@ -0,0 +1,172 @@
+package finance.tracker.service;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.MonthlySummary;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionType;
+import finance.tracker.repository.TransactionDAO;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Optional in-memory ledgers for {@link TransactionService}. A user's history is
+ * streamed from the database on first read and then kept current from the service's
+ * own writes, so dashboard totals are answered without SQL. Ledgers idle for longer
+ * than {@code idleTimeout} are dropped, and least recently used ones are dropped
+ * whenever the estimated footprint exceeds {@code budgetBytes}.
+ *
+ * <p>Writes that bypass the service (the COPY importer, another process) are not seen;
+ * call {@link #invalidate} or rely on idle eviction.
+ *
+ * <p>Each ledger is guarded by a {@link ReentrantLock} rather than a monitor because the
+ * first read loads it from the database while holding the lock, and readers queued
+ * behind that load must stay interruptible: a call that {@code AsyncServices} times out
+ * or cancels stops waiting instead of holding its thread until the load finishes.
+ * (Pinning is not the reason; since JDK 24, which this build targets, a virtual thread
+ * blocked in {@code synchronized} releases its carrier.)
+ */
+public class LedgerEngine {
+
+    public record Stats(int users, long rows, long estimatedBytes, long loads, long evictions) {}
+
+    private static final class Slot {
+        final ReentrantLock lock = new ReentrantLock();
+        UserLedger ledger = new UserLedger();
+        boolean loaded;
+        long lastAccess;
+    }
+
+    private final TransactionDAO dao;
+    private final long budgetBytes;
+    private final long idleNanos;
+    private final LinkedHashMap<Integer, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private long loads;
+    private long evictions;
+
+    public LedgerEngine(TransactionDAO dao, long budgetBytes, Duration idleTimeout) {
+        this.dao = dao;
+        this.budgetBytes = budgetBytes;
+        this.idleNanos = idleTimeout.toNanos();
+    }
+
+    public MonthlySummary getMonthlySummary(int userId, YearMonth month) {
+        return read(userId, ledger -> ledger.summary(month));
+    }
+
+    public BigDecimal getTotal(int userId, TransactionType type, YearMonth month) {
+        return read(userId, ledger -> ledger.total(type, month));
+    }
+
+    /** Applies a successful insert to the user's ledger if it is loaded. */
+    public void onInserted(Transaction tx) {
+        int id = tx instanceof BaseTransaction base ? base.getId() : 0;
+        if (id == 0) {
+            invalidate(tx.getUserId()); // can't de-duplicate without an id
+            return;
+        }
+        Slot slot = peek(tx.getUserId());
+        if (slot == null) return;
+        slot.lock.lock();
+        try {
+            if (slot.loaded) slot.ledger.add(id, tx);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /** Applies a successful delete; the owning user is not known, so every loaded ledger is checked. */
+    public void onDeleted(int transactionId) {
+        for (Slot slot : snapshot()) {
+            slot.lock.lock();
+            try {
+                if (slot.loaded && slot.ledger.remove(transactionId)) return;
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+    }
+
+    public synchronized void invalidate(int userId) {
+        slots.remove(userId);
+    }
+
+    public synchronized Stats getStats() {
+        long rows = 0, bytes = 0;
+        for (Slot slot : slots.values()) {
+            rows += slot.ledger.size();
+            bytes += slot.ledger.estimatedBytes();
+        }
+        return new Stats(slots.size(), rows, bytes, loads, evictions);
+    }
+
+    private <T> T read(int userId, Function<UserLedger, T> query) {
+        Slot slot;
+        synchronized (this) {
+            slot = slots.computeIfAbsent(userId, k -> new Slot());
+            slot.lastAccess = System.nanoTime();
+        }
+        T result;
+        try {
+            slot.lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the ledger of user " + userId);
+        }
+        try {
+            if (!slot.loaded) {
+                UserLedger ledger = new UserLedger();
+                dao.forEachByUser(userId, tx -> ledger.add(tx.getId(), tx));
+                slot.ledger = ledger;
+                slot.loaded = true;
+                synchronized (this) {
+                    loads++;
+                }
+            }
+            result = query.apply(slot.ledger);
+        } finally {
+            slot.lock.unlock();
+        }
+        evict(userId);
+        return result;
+    }
+
+    private synchronized Slot peek(int userId) {
+        return slots.get(userId);
+    }
+
+    private synchronized List<Slot> snapshot() {
+        return new ArrayList<>(slots.values());
+    }
+
+    /** Drops idle ledgers, then least recently used ones until under budget. Never drops {@code keep}. */
+    private synchronized void evict(int keep) {
+        long now = System.nanoTime();
+        long total = 0;
+        for (Iterator<Map.Entry<Integer, Slot>> it = slots.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Slot> e = it.next();
+            if (e.getKey() != keep && now - e.getValue().lastAccess > idleNanos) {
+                it.remove();
+                evictions++;
+            } else {
+                total += e.getValue().ledger.estimatedBytes();
+            }
+        }
+        for (Iterator<Map.Entry<Integer, Slot>> it = slots.entrySet().iterator(); it.hasNext() && total > budgetBytes; ) {
+            Map.Entry<Integer, Slot> e = it.next();
+            if (e.getKey() == keep) continue;
+            total -= e.getValue().ledger.estimatedBytes();
+            it.remove();
+            evictions++;
+        }
+    }
+}
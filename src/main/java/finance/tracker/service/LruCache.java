@@ -0,0 +1,143 @@
+package finance.tracker.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small thread-safe LRU map with a per-entry time-to-live, plus hit/miss/eviction
+ * counters (expired entries count as evictions). Loader results are not cached when
+ * null, so "not found" always goes back to the source.
+ */
+public class LruCache<K, V> {
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+        public Stats plus(Stats other) {
+            return new Stats(hits + other.hits, misses + other.misses,
+                    evictions + other.evictions, size + other.size);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    /** Loads running for one key; invalidating the key bumps generation so they aren't cached. */
+    private static final class Loads {
+        int running;
+        long generation;
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> map;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private final Map<K, Loads> loading = new HashMap<>(); // only keys with a load in flight
+    private long invalidations; // every invalidate() and clear(); see putIfCurrent
+
+    public LruCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value or loads it. The loader runs outside the lock, so two
+     * threads missing on the same key may both load; the last one wins.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Loads loads;
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = map.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt() < 0) {
+                    hits++;
+                    return entry.value();
+                }
+                map.remove(key);
+                evictions++;
+            }
+            misses++;
+            loads = loading.computeIfAbsent(key, k -> new Loads());
+            loads.running++;
+            loadGeneration = loads.generation;
+        }
+        V value = null;
+        try {
+            value = loader.apply(key);
+            return value;
+        } finally {
+            synchronized (this) {
+                // Only an invalidation of this key (or clear()) makes the loaded value stale
+                if (value != null && loads.generation == loadGeneration) {
+                    map.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                }
+                if (--loads.running == 0) loading.remove(key);
+            }
+        }
+    }
+
+    /** Cached value, or null without loading anything. Counts as a hit or miss like {@link #get}. */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAt() < 0) {
+            hits++;
+            return entry.value();
+        }
+        if (entry != null) {
+            map.remove(key);
+            evictions++;
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /** Token for {@link #putIfCurrent}; take it before reading the value from the source. */
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Puts unless anything was invalidated since {@code stamp}, so a value read before a
+     * write can't outlive that write's invalidation. Any key counts, which makes this
+     * conservative: meant for opportunistic fills, e.g. seeding entries from a list load.
+     */
+    public synchronized boolean putIfCurrent(K key, V value, long stamp) {
+        if (invalidations != stamp) return false;
+        map.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        Loads loads = loading.get(key);
+        if (loads != null) loads.generation++;
+        map.remove(key);
+    }
+
+    public synchronized void clear() {
+        invalidations++;
+        for (Loads loads : loading.values()) loads.generation++;
+        map.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, map.size());
+    }
+}
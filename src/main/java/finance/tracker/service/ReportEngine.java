@@ -0,0 +1,137 @@
+package finance.tracker.service;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.Money;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Year-to-date, trailing-twelve-month and multi-year breakdowns by month × category ×
+ * type. The period is loaded once as a {@link TransactionBatch}; its rows are split into
+ * contiguous slices that are summed in parallel on a dedicated {@link ForkJoinPool}, each
+ * into its own cube, and the cubes are added together on the way back up.
+ */
+public class ReportEngine implements AutoCloseable {
+    /** Slices smaller than this are summed sequentially. */
+    public static final int DEFAULT_MIN_ROWS_PER_TASK = 16_384;
+
+    /** Totals in minor units; see {@link TransactionBatch#accumulate} for the cube layout. */
+    public record Report(YearMonth firstMonth, int months, Category[] categories, long[] cube) {
+        public long total(int month, int categoryCode, TransactionType type) {
+            return cube[(month * categories.length + categoryCode) * 2 + type.ordinal()];
+        }
+
+        public long monthTotal(int month, TransactionType type) {
+            long sum = 0;
+            for (int c = 0; c < categories.length; c++) sum += total(month, c, type);
+            return sum;
+        }
+
+        public long categoryTotal(int categoryCode, TransactionType type) {
+            long sum = 0;
+            for (int m = 0; m < months; m++) sum += total(m, categoryCode, type);
+            return sum;
+        }
+
+        public long grandTotal(TransactionType type) {
+            long sum = 0;
+            for (int m = 0; m < months; m++) sum += monthTotal(m, type);
+            return sum;
+        }
+
+        public BigDecimal net() {
+            return Money.toBigDecimal(grandTotal(TransactionType.INCOME) - grandTotal(TransactionType.EXPENSE));
+        }
+    }
+
+    private final TransactionService service;
+    private final ForkJoinPool pool;
+    private final int minRowsPerTask;
+
+    public ReportEngine(TransactionService service) {
+        this(service, Runtime.getRuntime().availableProcessors(), DEFAULT_MIN_ROWS_PER_TASK);
+    }
+
+    public ReportEngine(TransactionService service, int parallelism, int minRowsPerTask) {
+        this.service = service;
+        this.pool = new ForkJoinPool(parallelism);
+        this.minRowsPerTask = minRowsPerTask;
+    }
+
+    /** January 1st through the end of {@code today}'s month. */
+    public Report yearToDate(int userId, LocalDate today) {
+        return forMonths(userId, YearMonth.of(today.getYear(), 1), today.getMonthValue());
+    }
+
+    /** The twelve months ending with {@code lastMonth}. */
+    public Report trailingTwelveMonths(int userId, YearMonth lastMonth) {
+        return forMonths(userId, lastMonth.minusMonths(11), 12);
+    }
+
+    /** Whole calendar years {@code fromYear..toYear} inclusive. */
+    public Report multiYear(int userId, int fromYear, int toYear) {
+        return forMonths(userId, YearMonth.of(fromYear, 1), (toYear - fromYear + 1) * 12);
+    }
+
+    public Report forMonths(int userId, YearMonth firstMonth, int months) {
+        TransactionBatch batch = service.loadBatch(userId, firstMonth.atDay(1), firstMonth.plusMonths(months).atDay(1));
+        return compute(batch, firstMonth, months);
+    }
+
+    /** Computes a report over an already-loaded batch. */
+    public Report compute(TransactionBatch batch, YearMonth firstMonth, int months) {
+        long[] cube = pool.invoke(new SliceTask(batch, firstMonth, months, 0, batch.size(), minRowsPerTask));
+        Category[] categories = new Category[batch.categoryCount()];
+        for (int c = 0; c < categories.length; c++) categories[c] = batch.categoryForCode(c);
+        return new Report(firstMonth, months, categories, cube);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static final class SliceTask extends RecursiveTask<long[]> {
+        private final TransactionBatch batch;
+        private final YearMonth firstMonth;
+        private final int months;
+        private final int from;
+        private final int to;
+        private final int minRows;
+
+        SliceTask(TransactionBatch batch, YearMonth firstMonth, int months, int from, int to, int minRows) {
+            this.batch = batch;
+            this.firstMonth = firstMonth;
+            this.months = months;
+            this.from = from;
+            this.to = to;
+            this.minRows = minRows;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= minRows) {
+                long[] cube = new long[months * batch.categoryCount() * 2];
+                batch.accumulate(from, to, firstMonth, months, cube);
+                return cube;
+            }
+            int mid = (from + to) >>> 1;
+            SliceTask left = new SliceTask(batch, firstMonth, months, from, mid, minRows);
+            left.fork();
+            long[] right = new SliceTask(batch, firstMonth, months, mid, to, minRows).compute();
+            long[] cube = left.join();
+            for (int i = 0; i < cube.length; i++) cube[i] += right[i];
+            return cube;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package finance.tracker.service;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.Money;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionFactory;
+import finance.tracker.model.TransactionType;
+import finance.tracker.repository.DatabaseConnector;
+import finance.tracker.repository.TransactionCopyLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Onboarding importer for large statement histories. Parses a CSV or OFX file as a
+ * stream and loads the rows with {@link TransactionCopyLoader}, which also resolves
+ * (or creates) categories by name inside the load's own database transaction.
+ */
+public class StatementImporter {
+    static final String FALLBACK_CATEGORY = "Uncategorized";
+    private static final int MAX_REPORTED_REJECTS = 100;
+
+    public record Report(long read, long inserted, long duplicates, long rejected,
+                         List<String> rejectReasons, Duration elapsed) {
+        public double rowsPerSecond() {
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+            return read / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("📥 Imported %d of %d rows (%d duplicates, %d rejected) in %d ms — %.0f rows/s",
+                    inserted, read, duplicates, rejected, elapsed.toMillis(), rowsPerSecond());
+        }
+    }
+
+    private final TransactionCopyLoader loader;
+
+    public StatementImporter(TransactionCopyLoader loader) {
+        this.loader = loader;
+    }
+
+    public Report importFile(int userId, Path file) throws IOException, SQLException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importStatement(userId, reader, StatementParser.detectFormat(file.getFileName().toString()));
+        }
+    }
+
+    public Report importStatement(int userId, BufferedReader reader, StatementParser.Format format) throws SQLException {
+        long start = System.nanoTime();
+        List<String> rejectReasons = new ArrayList<>();
+        long[] parserRejects = {0};
+
+        Iterator<StatementParser.Line> lines = StatementParser.parse(reader, format, reason -> {
+            parserRejects[0]++;
+            if (rejectReasons.size() < MAX_REPORTED_REJECTS) rejectReasons.add(reason);
+        });
+        RowMapper rows = new RowMapper(userId, lines, rejectReasons);
+
+        TransactionCopyLoader.Result result = loader.load(rows);
+
+        long rejected = parserRejects[0] + rows.invalid + result.rejected();
+        if (result.rejected() > 0 && rejectReasons.size() < MAX_REPORTED_REJECTS) {
+            rejectReasons.add(result.rejected() + " rows referenced missing or foreign categories");
+        }
+        return new Report(result.staged() + rows.invalid + parserRejects[0], result.inserted(),
+                result.duplicates(), rejected, rejectReasons, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /** Turns parsed lines into transactions, skipping entries that fail service validation. */
+    private final class RowMapper implements Iterator<Transaction> {
+        private final int userId;
+        private final Iterator<StatementParser.Line> lines;
+        private final List<String> rejectReasons;
+        private Transaction next;
+        long invalid;
+
+        RowMapper(int userId, Iterator<StatementParser.Line> lines, List<String> rejectReasons) {
+            this.userId = userId;
+            this.lines = lines;
+            this.rejectReasons = rejectReasons;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && lines.hasNext()) {
+                StatementParser.Line line = lines.next();
+                long amountMinor;
+                try {
+                    amountMinor = Money.fromBigDecimal(line.amount().abs());
+                } catch (ArithmeticException e) {
+                    amountMinor = -1;
+                }
+                if (amountMinor <= 0) {
+                    invalid++;
+                    if (rejectReasons.size() < MAX_REPORTED_REJECTS) {
+                        rejectReasons.add("line " + line.lineNumber() + (amountMinor == 0
+                                ? ": amount must be non-zero" : ": amount has more than two decimal places"));
+                    }
+                    continue;
+                }
+                TransactionType type = line.type() != null ? line.type()
+                        : line.amount().signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+                String categoryName = line.category() != null ? line.category() : FALLBACK_CATEGORY;
+                // Id 0: the loader matches the category by name, creating it if needed
+                next = TransactionFactory.createTransaction(type, amountMinor,
+                        new Category(0, categoryName, type, userId), line.description(), line.date(), userId);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Transaction tx = next;
+            next = null;
+            return tx;
+        }
+    }
+
+    /** Usage: {@code StatementImporter <userId> <statement.csv|statement.ofx>} */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: StatementImporter <userId> <statement file>");
+            System.exit(2);
+        }
+        int userId = Integer.parseInt(args[0]);
+        StatementImporter importer = new StatementImporter(new TransactionCopyLoader(DatabaseConnector.getInstance()));
+        Report report = importer.importFile(userId, Path.of(args[1]));
+        System.out.println(report);
+        report.rejectReasons().forEach(r -> System.out.println("  ❌ " + r));
+        DatabaseConnector.shutdown();
+    }
+}
@@ -0,0 +1,236 @@
+package finance.tracker.service;
+
+import finance.tracker.model.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for bank statement exports. Supports headed CSV files
+ * (columns {@code date, description, amount} plus optional {@code category, type})
+ * and OFX/QFX {@code <STMTTRN>} blocks. Lines are read one at a time, so file size
+ * does not affect heap usage.
+ */
+public class StatementParser {
+
+    public enum Format { CSV, OFX }
+
+    /** One parsed statement entry. A negative amount without an explicit type is an expense. */
+    public record Line(int lineNumber, LocalDate date, String description, BigDecimal amount,
+                       String category, TransactionType type) {}
+
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public static Format detectFormat(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".ofx") || lower.endsWith(".qfx") ? Format.OFX : Format.CSV;
+    }
+
+    /**
+     * Returns a lazy iterator over the statement. Malformed entries are passed to
+     * {@code onReject} (with their line number) and skipped.
+     */
+    public static Iterator<Line> parse(BufferedReader reader, Format format, Consumer<String> onReject) {
+        return format == Format.OFX ? new OfxIterator(reader, onReject) : new CsvIterator(reader, onReject);
+    }
+
+    /* ================= CSV ================= */
+
+    private static final class CsvIterator extends LookaheadIterator {
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvIterator(BufferedReader reader, Consumer<String> onReject) {
+            super(reader, onReject);
+        }
+
+        @Override
+        Line readNext() throws IOException {
+            String raw;
+            while ((raw = nextLine()) != null) {
+                if (raw.isBlank()) continue;
+                List<String> fields = splitCsv(raw);
+                if (columns.isEmpty()) {
+                    readHeader(fields);
+                    continue;
+                }
+                try {
+                    String amountText = field(fields, "amount").replace(",", "");
+                    String typeText = field(fields, "type");
+                    return new Line(lineNumber,
+                            parseDate(field(fields, "date")),
+                            field(fields, "description"),
+                            new BigDecimal(amountText),
+                            emptyToNull(field(fields, "category")),
+                            typeText.isEmpty() ? null : TransactionType.valueOf(typeText.toUpperCase(Locale.ROOT)));
+                } catch (RuntimeException e) {
+                    reject("line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        private void readHeader(List<String> header) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("date", "description", "amount")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+                }
+            }
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /* ================= OFX ================= */
+
+    private static final class OfxIterator extends LookaheadIterator {
+        OfxIterator(BufferedReader reader, Consumer<String> onReject) {
+            super(reader, onReject);
+        }
+
+        @Override
+        Line readNext() throws IOException {
+            Map<String, String> tags = null;
+            int startLine = 0;
+            String raw;
+            while ((raw = nextLine()) != null) {
+                String line = raw.trim();
+                if (line.equalsIgnoreCase("<STMTTRN>")) {
+                    tags = new HashMap<>();
+                    startLine = lineNumber;
+                } else if (line.equalsIgnoreCase("</STMTTRN>") && tags != null) {
+                    try {
+                        return toLine(startLine, tags);
+                    } catch (RuntimeException e) {
+                        reject("line " + startLine + ": " + e.getMessage());
+                        tags = null;
+                    }
+                } else if (tags != null && line.startsWith("<") && line.indexOf('>') > 1) {
+                    int close = line.indexOf('>');
+                    String value = line.substring(close + 1);
+                    int end = value.indexOf("</");
+                    tags.put(line.substring(1, close).toUpperCase(Locale.ROOT),
+                            (end >= 0 ? value.substring(0, end) : value).trim());
+                }
+            }
+            return null;
+        }
+
+        private static Line toLine(int lineNumber, Map<String, String> tags) {
+            String posted = tags.getOrDefault("DTPOSTED", "");
+            LocalDate date = LocalDate.parse(posted.substring(0, Math.min(8, posted.length())), OFX_DATE);
+            BigDecimal amount = new BigDecimal(tags.getOrDefault("TRNAMT", ""));
+            String name = tags.getOrDefault("NAME", "");
+            String memo = tags.getOrDefault("MEMO", "");
+            String description = memo.isEmpty() ? name : name.isEmpty() ? memo : name + " " + memo;
+            return new Line(lineNumber, date, description, amount, null, null);
+        }
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static LocalDate parseDate(String text) {
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            return LocalDate.parse(text, OFX_DATE);
+        }
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    /** Adapts a "read next or null" parser to {@link Iterator}. */
+    private abstract static class LookaheadIterator implements Iterator<Line> {
+        private final BufferedReader reader;
+        private final Consumer<String> onReject;
+        int lineNumber;
+        private Line next;
+        private boolean done;
+
+        LookaheadIterator(BufferedReader reader, Consumer<String> onReject) {
+            this.reader = reader;
+            this.onReject = onReject;
+        }
+
+        abstract Line readNext() throws IOException;
+
+        String nextLine() throws IOException {
+            String line = reader.readLine();
+            if (line != null) lineNumber++;
+            return line;
+        }
+
+        void reject(String reason) {
+            onReject.accept(reason);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = readNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Line next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Line line = next;
+            next = null;
+            return line;
+        }
+    }
+}
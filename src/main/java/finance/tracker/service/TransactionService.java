@@ -1,22 +1,107 @@
 package finance.tracker.service;
 
 import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.InsertOutcome;
+import finance.tracker.model.MonthlySummary;
 import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.model.TransactionFilter;
+import finance.tracker.model.TransactionPage;
+import finance.tracker.model.TransactionSort;
 import finance.tracker.model.TransactionType;
 import finance.tracker.repository.TransactionDAO;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class TransactionService {
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionDAO txDao;
-    public TransactionService(TransactionDAO dao) { this.txDao = dao; }
+    private final LedgerEngine ledger; // null when summaries are read from the database
+
+    public TransactionService(TransactionDAO dao) { this(dao, null); }
+
+    public TransactionService(TransactionDAO dao, LedgerEngine ledger) {
+        this.txDao = dao;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Builds a ledger-backed engine when {@code -Dledger.enabled=true}; budget and idle
+     * timeout come from {@code ledger.budgetMb} (default 64) and {@code ledger.idleMinutes} (default 30).
+     */
+    public static LedgerEngine ledgerFromSystemProperties(TransactionDAO dao) {
+        if (!Boolean.getBoolean("ledger.enabled")) return null;
+        return new LedgerEngine(dao, Long.getLong("ledger.budgetMb", 64) * 1024 * 1024,
+                Duration.ofMinutes(Long.getLong("ledger.idleMinutes", 30)));
+    }
 
     public boolean addTransaction(Transaction tx) {
+        validate(tx);
+        boolean added = txDao.insertTransaction(tx);
+        if (added && ledger != null) ledger.onInserted(tx);
+        return added;
+    }
+
+    /**
+     * Bulk variant of {@link #addTransaction}: rows failing validation are reported as
+     * {@link InsertOutcome#INVALID} and the rest are inserted in JDBC batches.
+     *
+     * @return one outcome per input row, in iteration order
+     */
+    public List<InsertOutcome> addTransactions(Collection<? extends Transaction> transactions) {
+        List<InsertOutcome> outcomes = new ArrayList<>(transactions.size());
+        List<Transaction> valid = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            try {
+                validate(tx);
+                valid.add(tx);
+                outcomes.add(null); // filled from the DAO result below
+            } catch (IllegalArgumentException e) {
+                outcomes.add(InsertOutcome.INVALID);
+            }
+        }
+
+        Iterator<InsertOutcome> inserted = txDao.insertTransactions(valid).iterator();
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) == null) outcomes.set(i, inserted.next());
+        }
+        if (ledger != null) {
+            // Batched inserts don't return ids, so reload the affected ledgers on next read
+            valid.stream().mapToInt(Transaction::getUserId).distinct().forEach(ledger::invalidate);
+        }
+        return outcomes;
+    }
+
+    public boolean updateTransaction(BaseTransaction tx) {
+        validate(tx);
+        boolean updated = txDao.updateTransaction(tx);
+        if (updated && ledger != null) ledger.invalidate(tx.getUserId());
+        return updated;
+    }
+
+    public boolean deleteTransaction(int transactionId) {
+        boolean deleted = txDao.deleteTransaction(transactionId);
+        if (deleted && ledger != null) ledger.onDeleted(transactionId);
+        return deleted;
+    }
+
+    private void validate(Transaction tx) {
         // validation rules go here
-        if (tx.getAmount() <= 0) throw new IllegalArgumentException("Amount must be positive");
-        return txDao.insertTransaction(tx);
+        if (tx == null) throw new IllegalArgumentException("Transaction is required");
+        if (tx.getType() == null) throw new IllegalArgumentException("Type is required");
+        if (tx.getDate() == null) throw new IllegalArgumentException("Date is required");
+        if (tx.getAmountMinor() <= 0) throw new IllegalArgumentException("Amount must be positive");
+        if (tx.getCategory() == null) throw new IllegalArgumentException("Category is required");
     }
 
     public List<BaseTransaction> listTransactions(int userId) {
@@ -25,7 +110,59 @@ public class TransactionService {
     public List<BaseTransaction> getAllByUser(int userId){
         return txDao.getAllByUser(userId);
     }
+    public TransactionPage getPage(int userId, TransactionFilter filter, TransactionPage.Key after, int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        checkDateRange(filter);
+        return txDao.getPageByUser(userId, filter, after, pageSize);
+    }
+
+    /**
+     * Random-access slice of the filtered history, e.g. for a lazily scrolled table.
+     * {@code offset} counts from the row after {@code after}, or from the first row when it is null.
+     */
+    public List<BaseTransaction> getWindow(int userId, TransactionFilter filter, TransactionSort sort,
+                                           TransactionSort.Key after, int offset, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (offset < 0) throw new IllegalArgumentException("Offset must not be negative");
+        checkDateRange(filter);
+        return txDao.getWindowByUser(userId, filter, sort, after, offset, limit);
+    }
+
+    public int countTransactions(int userId, TransactionFilter filter) {
+        checkDateRange(filter);
+        return txDao.countByUser(userId, filter);
+    }
+
+    private static void checkDateRange(TransactionFilter filter) {
+        if (filter != null && filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    /** Cursor-backed read for exports and aggregations; close the stream when done. */
+    public Stream<BaseTransaction> streamByUser(int userId) {
+        return txDao.streamByUser(userId);
+    }
+    public void forEachByUser(int userId, Consumer<? super BaseTransaction> action) {
+        txDao.forEachByUser(userId, action);
+    }
+    /** Columnar snapshot of {@code [from, to)} for reports over long histories. */
+    public TransactionBatch loadBatch(int userId, LocalDate from, LocalDate to) {
+        return txDao.loadBatch(userId, from, to);
+    }
+    public List<BaseTransaction> getByUserInMonth(int userId, YearMonth month) {
+        return txDao.getByUserInMonth(userId, month);
+    }
+    public MonthlySummary getMonthlySummary(int userId, YearMonth month) {
+        if (ledger != null) return ledger.getMonthlySummary(userId, month);
+        return txDao.getMonthlySummary(userId, month);
+    }
     public BigDecimal getTotalByUserAndTypeInMonth(int userId, TransactionType type, YearMonth month) {
+        if (ledger != null) return ledger.getTotal(userId, type, month);
         return txDao.getTotalByUserAndTypeInMonth(userId, type, month);
     }
 }
@@ -0,0 +1,171 @@
+package finance.tracker.service;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.Money;
+import finance.tracker.model.MonthlySummary;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionType;
+import finance.tracker.repository.CategoryRegistry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One user's transactions held as parallel primitive arrays sorted by (date, id), with
+ * per-month income/expense and per-category totals kept up to date on every add and
+ * remove. Amounts are stored in cents. Not thread-safe; {@link LedgerEngine} locks it.
+ */
+final class UserLedger {
+    private static final int INITIAL_CAPACITY = 64;
+    /** Rough heap cost of one row across the arrays plus its share of the aggregates. */
+    static final int BYTES_PER_ROW = 4 + 4 + 8 + 1 + 4 + 16;
+
+    /** Totals for one calendar month; category maps are keyed by category id. */
+    private static final class Month {
+        long income;
+        long expense;
+        final Map<Integer, long[]> byCategory = new HashMap<>(); // {income, expense}
+    }
+
+    private int[] days = new int[INITIAL_CAPACITY];   // LocalDate.toEpochDay()
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY]; // TransactionType ordinal
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<Integer, Month> months = new HashMap<>(); // key: year * 12 + month - 1
+    private final Map<Integer, Category> categories = new HashMap<>();
+
+    int size() {
+        return size;
+    }
+
+    long estimatedBytes() {
+        return (long) days.length * BYTES_PER_ROW;
+    }
+
+    /** Adds a persisted transaction. Returns false if its id is already present. */
+    boolean add(int id, Transaction tx) {
+        int day = (int) tx.getDate().toEpochDay();
+        int pos = search(day, id);
+        if (pos >= 0) return false;
+        pos = -pos - 1;
+        ensureCapacity(size + 1);
+
+        int tail = size - pos;
+        System.arraycopy(days, pos, days, pos + 1, tail);
+        System.arraycopy(ids, pos, ids, pos + 1, tail);
+        System.arraycopy(cents, pos, cents, pos + 1, tail);
+        System.arraycopy(types, pos, types, pos + 1, tail);
+        System.arraycopy(categoryIds, pos, categoryIds, pos + 1, tail);
+
+        Category category = tx.getCategory();
+        categories.putIfAbsent(category.getCategoryId(), category);
+        days[pos] = day;
+        ids[pos] = id;
+        cents[pos] = tx.getAmountMinor();
+        types[pos] = (byte) tx.getType().ordinal();
+        categoryIds[pos] = category.getCategoryId();
+        size++;
+
+        accumulate(pos, 1);
+        return true;
+    }
+
+    /** Removes the row with {@code id}, if present. Linear scan; deletes are rare. */
+    boolean remove(int id) {
+        for (int pos = 0; pos < size; pos++) {
+            if (ids[pos] != id) continue;
+            accumulate(pos, -1);
+            int tail = size - pos - 1;
+            System.arraycopy(days, pos + 1, days, pos, tail);
+            System.arraycopy(ids, pos + 1, ids, pos, tail);
+            System.arraycopy(cents, pos + 1, cents, pos, tail);
+            System.arraycopy(types, pos + 1, types, pos, tail);
+            System.arraycopy(categoryIds, pos + 1, categoryIds, pos, tail);
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    BigDecimal total(TransactionType type, YearMonth month) {
+        Month m = months.get(monthKey(month));
+        if (m == null) return money(0);
+        return money(type == TransactionType.INCOME ? m.income : m.expense);
+    }
+
+    /** Same shape as the SQL-backed summary: expense categories merged by name, largest first. */
+    MonthlySummary summary(YearMonth month) {
+        Month m = months.get(monthKey(month));
+        if (m == null) {
+            return new MonthlySummary(month, money(0), money(0), Map.of());
+        }
+        Map<String, Long> byName = new HashMap<>();
+        m.byCategory.forEach((categoryId, totals) -> {
+            if (totals[1] != 0) byName.merge(categoryName(categoryId), totals[1], Long::sum);
+        });
+        Map<String, BigDecimal> expenseByCategory = new LinkedHashMap<>();
+        byName.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> expenseByCategory.put(e.getKey(), money(e.getValue())));
+        return new MonthlySummary(month, money(m.income), money(m.expense), expenseByCategory);
+    }
+
+    /** Current name: the registry's canonical instance reflects renames made after loading. */
+    private String categoryName(int categoryId) {
+        Category category = CategoryRegistry.lookup(categoryId);
+        return (category != null ? category : categories.get(categoryId)).getCategoryName();
+    }
+
+    private void accumulate(int pos, int sign) {
+        LocalDate date = LocalDate.ofEpochDay(days[pos]);
+        Month m = months.computeIfAbsent(date.getYear() * 12 + date.getMonthValue() - 1, k -> new Month());
+        long delta = sign * cents[pos];
+        long[] totals = m.byCategory.computeIfAbsent(categoryIds[pos], k -> new long[2]);
+        if (types[pos] == TransactionType.INCOME.ordinal()) {
+            m.income += delta;
+            totals[0] += delta;
+        } else {
+            m.expense += delta;
+            totals[1] += delta;
+        }
+    }
+
+    /** Binary search on (day, id); same contract as {@link Arrays#binarySearch(int[], int)}. */
+    private int search(int day, int id) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = days[mid] != day ? Integer.compare(days[mid], day) : Integer.compare(ids[mid], id);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= days.length) return;
+        int capacity = Math.max(needed, days.length + (days.length >> 1));
+        days = Arrays.copyOf(days, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        types = Arrays.copyOf(types, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static BigDecimal money(long cents) {
+        return Money.toBigDecimal(cents);
+    }
+}
@@ -3,8 +3,7 @@ package finance.tracker.ui;
 
 import finance.tracker.model.*;
 import finance.tracker.repository.CategoryDAO;
-import finance.tracker.service.CategoryService;
-import finance.tracker.service.TransactionService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -29,13 +28,13 @@ public class AddTransactionPanel extends JPanel {
     private final JSpinner dateSpinner;
     private final JButton submitBtn;
     private int userId;
-    private final CategoryService service;
-    private final TransactionService transactionService;
+    private final AsyncServices async;
+    private final BackgroundTask<List<Category>> categoryTask;
+    private final BackgroundTask<Boolean> submitTask;
 
 
-    public AddTransactionPanel(CategoryService catService, int userId, Runnable onBack, TransactionService transactionService) {
-        this.service = catService;
-        this.transactionService = transactionService;
+    public AddTransactionPanel(AsyncServices async, int userId, Runnable onBack) {
+        this.async = async;
 //        this.transactionDAO = transactionDAO;
 //        this.userId = userId;
         setLayout(new BorderLayout(20, 20));
@@ -49,6 +48,12 @@ public class AddTransactionPanel extends JPanel {
         categoryBox = createStyledComboBox();
         dateSpinner = createStyledDateSpinner();
         submitBtn = createStyledButton("Submit", PRIMARY_COLOR);
+        categoryTask = new BackgroundTask<>(busy -> categoryBox.setEnabled(!busy),
+                e -> showError(BackgroundTask.describe(e, "Could not load categories.")));
+        submitTask = new BackgroundTask<>(busy -> {
+            submitBtn.setEnabled(!busy);
+            setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        }, e -> showError(BackgroundTask.describe(e, "An error occurred while saving the transaction.")));
 
         setUserId(userId);
 
@@ -181,15 +186,14 @@ public class AddTransactionPanel extends JPanel {
     }
 
     private void setupEventHandlers(Runnable onBack) {
-        submitBtn.addActionListener(e -> {
-            if (validateAndSubmit()) {
-                resetForm();
-                onBack.run(); // Navigate back to home after successful submission
-            }
-        });
+        submitBtn.addActionListener(e -> validateAndSubmit(() -> {
+            resetForm();
+            onBack.run(); // Navigate back to home after successful submission
+        }));
     }
 
-    private boolean validateAndSubmit() {
+    /** Validates on the EDT, saves in the background and runs {@code onSaved} once the insert succeeds. */
+    private void validateAndSubmit(Runnable onSaved) {
         try {
             String typeStr = (String) typeBox.getSelectedItem();
             Category category = (Category) categoryBox.getSelectedItem();
@@ -199,13 +203,13 @@ public class AddTransactionPanel extends JPanel {
 
             if (typeStr == null || category == null || amountStr.isEmpty() || description.isEmpty()) {
                 showError("Please fill in all fields.");
-                return false;
+                return;
             }
 
-            double amount = Double.parseDouble(amountStr);
+            long amount = Money.parse(amountStr);
             if (amount <= 0) {
                 showError("Amount must be greater than zero.");
-                return false;
+                return;
             }
 
             LocalDate date = utilDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
@@ -215,16 +219,19 @@ public class AddTransactionPanel extends JPanel {
                     type, amount, category, description, date, userId
             );
 
-            transactionService.addTransaction(transaction);
-            showSuccess("Transaction added successfully!");
-            return true;
+            submitTask.submit(() -> async.addTransaction(transaction), saved -> {
+                if (saved) {
+                    showSuccess("Transaction added successfully!");
+                    onSaved.run();
+                } else {
+                    showError("An error occurred while saving the transaction.");
+                }
+            });
 
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number for amount.");
-            return false;
         } catch (Exception ex) {
             showError("An error occurred while saving the transaction.");
-            return false;
         }
     }
 
@@ -240,20 +247,22 @@ public class AddTransactionPanel extends JPanel {
         amountField.setText("");
         descriptionField.setText("");
         typeBox.setSelectedIndex(0);
-        categoryBox.setSelectedIndex(0);
+        if (categoryBox.getItemCount() > 0) categoryBox.setSelectedIndex(0);
         dateSpinner.setValue(new java.util.Date());
     }
 
-    public void loadCategories(int userId, CategoryService service) {
-        List<Category> categories = service.getCategoriesForUser(userId);
-        categoryBox.removeAllItems();
-        for (Category c : categories) {
-            categoryBox.addItem(c);
-        }
+    public void loadCategories() {
+        int uid = userId;
+        categoryTask.submit(() -> async.getCategoriesForUser(uid), categories -> {
+            categoryBox.removeAllItems();
+            for (Category c : categories) {
+                categoryBox.addItem(c);
+            }
+        });
     }
 
     public void setUserId(int userId) {
         this.userId = userId;
-        loadCategories(userId, service);
+        loadCategories();
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package finance.tracker.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One stream of background requests for a panel, e.g. "load the dashboard summary".
+ * Calls start off the EDT through {@link finance.tracker.service.AsyncServices}; results,
+ * errors and the busy indicator are always delivered on the EDT.
+ *
+ * <p>At most one call runs at a time. Submitting while one is running queues the new
+ * call, replacing anything queued before it. The running call's result is dropped
+ * because it has been superseded, so ten quick month changes cost two queries, not ten.
+ * The running query isn't interrupted: that would close its pooled connection.
+ *
+ * <p>All methods must be called on the EDT.
+ */
+final class BackgroundTask<T> {
+    private record Request<T>(Supplier<CompletableFuture<T>> call, Consumer<? super T> onResult) {}
+
+    private final Consumer<Boolean> busy;
+    private final Consumer<Throwable> onError;
+    private boolean running;
+    private Request<T> queued;
+
+    BackgroundTask(Consumer<Boolean> busy, Consumer<Throwable> onError) {
+        this.busy = busy;
+        this.onError = onError;
+    }
+
+    /** Shows the wait cursor over {@code c} while a call is in flight. */
+    static Consumer<Boolean> waitCursor(Component c) {
+        return on -> c.setCursor(on ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+    }
+
+    void submit(Supplier<CompletableFuture<T>> call, Consumer<? super T> onResult) {
+        Request<T> request = new Request<>(call, onResult);
+        if (running) {
+            queued = request;
+        } else {
+            start(request);
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    private void start(Request<T> request) {
+        running = true;
+        busy.accept(true);
+        CompletableFuture<T> future;
+        try {
+            future = request.call().get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> finish(request, value, error)));
+    }
+
+    private void finish(Request<T> request, T value, Throwable error) {
+        running = false;
+        if (queued != null) {
+            Request<T> next = queued;
+            queued = null;
+            start(next);
+            return;
+        }
+        busy.accept(false);
+        if (error != null) {
+            onError.accept(unwrap(error));
+        } else {
+            request.onResult().accept(value);
+        }
+    }
+
+    /** User-facing text for a failed call: validation messages pass through, timeouts get their own. */
+    static String describe(Throwable error, String fallback) {
+        if (error instanceof TimeoutException) return "The database took too long to respond. Please try again.";
+        if (error instanceof IllegalArgumentException) return error.getMessage();
+        error.printStackTrace();
+        return fallback;
+    }
+
+    /** The failure behind CompletableFuture's wrappers, for callers that handle futures themselves. */
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -1,10 +1,10 @@
 
 package finance.tracker.ui;
 
-import finance.tracker.model.BaseTransaction;
-import finance.tracker.model.TransactionType;
+import finance.tracker.model.MonthlySummary;
 import finance.tracker.repository.TransactionDAO;
-import finance.tracker.service.TransactionService;
+import finance.tracker.service.AsyncServices;
+import finance.tracker.service.LruCache;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -16,20 +16,22 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.Duration;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public class DashboardPanel extends JPanel {
     private static final Color CARD_BG = new Color(255, 255, 255);
     private static final Color CARD_BORDER = new Color(208, 208, 208);
     private static final Color POSITIVE = new Color(46, 125, 50);
     private static final Color NEGATIVE = new Color(198, 40, 40);
+    private static final int CACHED_MONTHS = 24;
 
-    private TransactionService service;
+    private final AsyncServices async;
     private final int userId;
     private YearMonth currentMonth;
     private final NumberFormat moneyFmt = NumberFormat.getCurrencyInstance();
@@ -39,11 +41,24 @@ public class DashboardPanel extends JPanel {
     private final JLabel expenseValue;
     private final JLabel netValue;
     private ChartPanel chartPanel;
-
-    public DashboardPanel(int userId, TransactionService service) {
+    private final BackgroundTask<MonthlySummary> summaryTask;
+
+    // One chart for the panel's lifetime; month changes only rewrite its dataset
+    private final DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+    // Recently viewed and prefetched months. Cleared by refresh(), which callers use after writes
+    private final LruCache<YearMonth, MonthlySummary> months = new LruCache<>(CACHED_MONTHS, Duration.ofMinutes(5));
+    private final Set<YearMonth> prefetching = new HashSet<>();
+    private int generation; // bumped by refresh() so loads started before it aren't cached
+    private Runnable onFirstShown; // startup timing; run once, then dropped
+
+    /** {@code onFirstShown}, if not null, runs on the EDT once the first summary is on screen. */
+    public DashboardPanel(int userId, AsyncServices async, Runnable onFirstShown) {
         this.userId = userId;
+        this.onFirstShown = onFirstShown;
         this.currentMonth = YearMonth.now();
-        this.service = service;
+        this.async = async;
+        this.summaryTask = new BackgroundTask<>(BackgroundTask.waitCursor(this),
+                e -> showError(BackgroundTask.describe(e, "Could not load the dashboard.")));
 
         // Initialize labels
         monthLabel = new JLabel();
@@ -110,8 +125,21 @@ public class DashboardPanel extends JPanel {
         JPanel wrapper = new JPanel(new BorderLayout());
         wrapper.setOpaque(false);
 
+        JFreeChart chart = ChartFactory.createBarChart(
+                "Expenses by Category",
+                "Category",
+                "Amount",
+                dataset,
+                PlotOrientation.VERTICAL,
+                false, // legend
+                false, // tooltips
+                false  // urls
+        );
+        chart.setBackgroundPaint(CARD_BG);
+        chart.getPlot().setBackgroundPaint(CARD_BG);
+
         // Initialize chart panel
-        chartPanel = new ChartPanel(null);
+        chartPanel = new ChartPanel(chart);
         chartPanel.setBackground(CARD_BG);
         chartPanel.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createLineBorder(CARD_BORDER, 1, true),
@@ -123,63 +151,80 @@ public class DashboardPanel extends JPanel {
         return wrapper;
     }
 
+    /** Shows a cached month immediately, otherwise loads it; then prefetches its neighbours. */
     public void setMonth(YearMonth month) {
         this.currentMonth = month;
-        refresh();
+        MonthlySummary cached = months.getIfPresent(month);
+        if (cached == null) {
+            load(month);
+            return;
+        }
+        show(cached);
+        prefetchAround(month);
     }
 
+    /** Drops every cached month and reloads the current one, e.g. after a transaction was added. */
     public void refresh() {
-        updateDisplayData();
-        updateChart();
+        generation++;
+        months.clear();
+        load(currentMonth);
     }
 
-    private void updateDisplayData() {
-        BigDecimal income = service.getTotalByUserAndTypeInMonth(userId, TransactionType.INCOME, currentMonth);
-        BigDecimal expense = service.getTotalByUserAndTypeInMonth(userId, TransactionType.EXPENSE, currentMonth);
-        BigDecimal net = income.subtract(expense);
-
-        incomeValue.setText(moneyFmt.format(income));
-        expenseValue.setText(moneyFmt.format(expense));
-        netValue.setText(moneyFmt.format(net));
-        netValue.setForeground(net.signum() >= 0 ? POSITIVE : NEGATIVE);
+    /** Loads in the background; a month picked while a load is running supersedes it. */
+    private void load(YearMonth month) {
+        int gen = generation;
+        summaryTask.submit(() -> async.getMonthlySummary(userId, month), summary -> {
+            if (gen == generation) months.put(month, summary);
+            if (!month.equals(currentMonth)) return; // a cached month was shown meanwhile
+            show(summary);
+            prefetchAround(month);
+        });
+    }
 
-        monthLabel.setText(currentMonth.getMonth().getDisplayName(TextStyle.FULL, Locale.getDefault()) +
-                " " + currentMonth.getYear());
+    private void prefetchAround(YearMonth month) {
+        for (YearMonth m : List.of(month.minusMonths(1), month.plusMonths(1))) {
+            if (months.getIfPresent(m) != null || !prefetching.add(m)) continue;
+            int gen = generation;
+            async.getMonthlySummary(userId, m).whenComplete((summary, error) -> SwingUtilities.invokeLater(() -> {
+                prefetching.remove(m);
+                if (summary != null && gen == generation) months.put(m, summary);
+            }));
+        }
     }
 
-    private void updateChart() {
-        List<BaseTransaction> transactions = service.getAllByUser(userId).stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .filter(t -> YearMonth.from(t.getDate()).equals(currentMonth))
-                .toList();
+    private void show(MonthlySummary summary) {
+        updateDisplayData(summary);
+        updateChart(summary);
+        if (onFirstShown != null) {
+            // Queued behind the repaint the updates above just scheduled
+            SwingUtilities.invokeLater(onFirstShown);
+            onFirstShown = null;
+        }
+    }
 
-        Map<String, Double> categoryTotals = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getCategoryName(),
-                        Collectors.summingDouble(BaseTransaction::getAmount)
-                ));
+    private void updateDisplayData(MonthlySummary summary) {
+        BigDecimal net = summary.net();
 
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        categoryTotals.forEach((category, amount) ->
-                dataset.addValue(amount, "Expenses", category));
+        incomeValue.setText(moneyFmt.format(summary.income()));
+        expenseValue.setText(moneyFmt.format(summary.expense()));
+        netValue.setText(moneyFmt.format(net));
+        netValue.setForeground(net.signum() >= 0 ? POSITIVE : NEGATIVE);
 
-        JFreeChart chart = ChartFactory.createBarChart(
-                "Expenses by Category",
-                "Category",
-                "Amount",
-                dataset,
-                PlotOrientation.VERTICAL,
-                false, // legend
-                false, // tooltips
-                false  // urls
-        );
+        monthLabel.setText(summary.month().getMonth().getDisplayName(TextStyle.FULL, Locale.getDefault()) +
+                " " + summary.month().getYear());
+    }
 
-        // Customize chart appearance
-        chart.setBackgroundPaint(CARD_BG);
-        chart.getPlot().setBackgroundPaint(CARD_BG);
+    /** Rewrites the dataset in place; with notifications off the chart redraws once, not per bar. */
+    private void updateChart(MonthlySummary summary) {
+        dataset.setNotify(false);
+        dataset.clear();
+        summary.expenseByCategory().forEach((category, amount) ->
+                dataset.addValue(amount, "Expenses", category));
+        dataset.setNotify(true);
+    }
 
-        chartPanel.setChart(chart);
-        chartPanel.repaint();
+    private void showError(String message) {
+        JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     /** Compatibility alias for MainFrame */
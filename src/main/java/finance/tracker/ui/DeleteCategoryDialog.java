@@ -3,7 +3,7 @@ package finance.tracker.ui;
 
 import finance.tracker.model.Category;
 import finance.tracker.repository.CategoryDAO;
-import finance.tracker.service.CategoryService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -21,7 +21,7 @@ public class DeleteCategoryDialog extends JDialog {
     private final JButton deleteButton;
     private final JButton cancelButton;
 
-    public DeleteCategoryDialog(JFrame parent, Category category, CategoryService service, Runnable onCategoryDeleted) {
+    public DeleteCategoryDialog(JFrame parent, Category category, AsyncServices async, Runnable onCategoryDeleted) {
         super(parent, "Delete Category", true);
 
         // Initialize components
@@ -47,7 +47,7 @@ public class DeleteCategoryDialog extends JDialog {
         setContentPane(mainPanel);
 
         // Setup event handlers
-        setupEventHandlers(category, service, onCategoryDeleted);
+        setupEventHandlers(category, async, onCategoryDeleted);
     }
 
     private JPanel createHeaderPanel() {
@@ -115,17 +115,19 @@ public class DeleteCategoryDialog extends JDialog {
         return button;
     }
 
-    private void setupEventHandlers(Category category, CategoryService service, Runnable onCategoryDeleted) {
+    private void setupEventHandlers(Category category, AsyncServices async, Runnable onCategoryDeleted) {
+        BackgroundTask<Boolean> deleteTask = new BackgroundTask<>(busy -> deleteButton.setEnabled(!busy),
+                e -> showError(BackgroundTask.describe(e, "Failed to delete category.")));
         deleteButton.addActionListener(e -> {
-            boolean success = service.deleteCategory(category.getCategoryId());
-
-            if (success) {
-                showSuccess("Category deleted successfully!");
-                onCategoryDeleted.run();
-                dispose();
-            } else {
-                showError("Failed to delete category.");
-            }
+            deleteTask.submit(() -> async.deleteCategory(category.getCategoryId()), success -> {
+                if (success) {
+                    showSuccess("Category deleted successfully!");
+                    onCategoryDeleted.run();
+                    dispose();
+                } else {
+                    showError("Failed to delete category.");
+                }
+            });
         });
 
         cancelButton.addActionListener(e -> dispose());
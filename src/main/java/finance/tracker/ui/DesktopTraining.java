@@ -0,0 +1,51 @@
+package finance.tracker.ui;
+
+import finance.tracker.model.User;
+import finance.tracker.repository.DatabaseConnector;
+import finance.tracker.repository.UserDAO;
+import finance.tracker.service.UserService;
+
+import javax.swing.*;
+
+/**
+ * Training run for the desktop AOT cache built by the {@code cds} Maven profile: opens
+ * the frame, logs in, shows the dashboard, visits every card and exits, so the JVM
+ * records the Swing, JFreeChart and JDBC classes a real session loads.
+ *
+ * <p>Logs in as {@code -Dtraining.email}/{@code -Dtraining.password}. Without a reachable
+ * database or a matching user it carries on as a placeholder user; the DAO calls fail,
+ * but the screens are still built.
+ */
+public class DesktopTraining {
+    private static final long STEP_MILLIS = Long.getLong("training.stepMillis", 1500);
+
+    public static void main(String[] args) throws Exception {
+        MainFrame[] frame = new MainFrame[1];
+        SwingUtilities.invokeAndWait(() -> frame[0] = new MainFrame());
+
+        User user = null;
+        try {
+            user = new UserService(new UserDAO(DatabaseConnector.lazy())).login(
+                    System.getProperty("training.email", "demo@example.com"),
+                    System.getProperty("training.password", "demo"));
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Training login failed: " + e.getMessage());
+        }
+        User session = user != null ? user : new User(0, "training", "training@example.com");
+
+        step(() -> frame[0].openSession(session));
+        step(frame[0]::showAdd);
+        step(frame[0]::showView);
+        step(frame[0]::showCategories);
+
+        SwingUtilities.invokeAndWait(frame[0]::dispose);
+        DatabaseConnector.shutdown();
+        System.exit(0); // the AOT configuration is written on exit
+    }
+
+    /** Runs one action on the EDT, then gives its background loads time to finish. */
+    private static void step(Runnable action) throws Exception {
+        SwingUtilities.invokeAndWait(action);
+        Thread.sleep(STEP_MILLIS);
+    }
+}
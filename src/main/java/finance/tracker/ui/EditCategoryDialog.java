@@ -4,7 +4,7 @@ package finance.tracker.ui;
 import finance.tracker.model.Category;
 import finance.tracker.model.TransactionType;
 import finance.tracker.repository.CategoryDAO;
-import finance.tracker.service.CategoryService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -24,7 +24,7 @@ public class EditCategoryDialog extends JDialog {
     private final JButton saveButton;
     private final JButton cancelButton;
 
-    public EditCategoryDialog(JFrame parent, Category category, CategoryService service, Runnable onCategoryUpdated) {
+    public EditCategoryDialog(JFrame parent, Category category, AsyncServices async, Runnable onCategoryUpdated) {
         super(parent, "Edit Category", true);
 
         // Initialize components
@@ -52,7 +52,7 @@ public class EditCategoryDialog extends JDialog {
         setContentPane(mainPanel);
 
         // Setup event handlers
-        setupEventHandlers(category, service, onCategoryUpdated);
+        setupEventHandlers(category, async, onCategoryUpdated);
     }
 
     private JPanel createHeaderPanel() {
@@ -135,7 +135,9 @@ public class EditCategoryDialog extends JDialog {
         return button;
     }
 
-    private void setupEventHandlers(Category category, CategoryService service, Runnable onCategoryUpdated) {
+    private void setupEventHandlers(Category category, AsyncServices async, Runnable onCategoryUpdated) {
+        BackgroundTask<Boolean> saveTask = new BackgroundTask<>(busy -> saveButton.setEnabled(!busy),
+                e -> showError(BackgroundTask.describe(e, "Failed to update category.")));
         saveButton.addActionListener(e -> {
             String newName = nameField.getText().trim();
 
@@ -144,16 +146,15 @@ public class EditCategoryDialog extends JDialog {
                 return;
             }
 
-            category.setCategoryName(newName);
-            boolean success = service.updateCategory(category);
-
-            if (success) {
-                showSuccess("Category updated successfully!");
-                onCategoryUpdated.run();
-                dispose();
-            } else {
-                showError("Failed to update category.");
-            }
+            saveTask.submit(() -> async.updateCategory(category.withName(newName)), success -> {
+                if (success) {
+                    showSuccess("Category updated successfully!");
+                    onCategoryUpdated.run();
+                    dispose();
+                } else {
+                    showError("Failed to update category.");
+                }
+            });
         });
 
         cancelButton.addActionListener(e -> dispose());
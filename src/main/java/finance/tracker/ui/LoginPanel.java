@@ -2,7 +2,7 @@ package finance.tracker.ui;
 
 import finance.tracker.model.User;
 import finance.tracker.repository.UserDAO;
-import finance.tracker.service.UserService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -18,7 +18,7 @@ public class LoginPanel extends JPanel {
     private static final int FIELD_WIDTH = 300;
     private static final int FIELD_HEIGHT = 35;
 
-    public LoginPanel(UserService service, Runnable onSuccess, Consumer<User> onLoginSuccess, Runnable goToRegister) {
+    public LoginPanel(AsyncServices async, Runnable onSuccess, Consumer<User> onLoginSuccess, Runnable goToRegister) {
         setLayout(new GridBagLayout());
         setBackground(BACKGROUND_COLOR);
         setBorder(new EmptyBorder(20, 40, 20, 40));
@@ -77,6 +77,10 @@ public class LoginPanel extends JPanel {
         add(registerPanel, gbc);
 
         // Action listeners
+        BackgroundTask<User> loginTask = new BackgroundTask<>(busy -> {
+            loginButton.setEnabled(!busy);
+            loginButton.setText(busy ? "Logging in…" : "Login");
+        }, ex -> showError(BackgroundTask.describe(ex, "Login failed, please try again")));
         loginButton.addActionListener(e -> {
             String email = emailField.getText().trim();
             String password = new String(passwordField.getPassword());
@@ -86,14 +90,15 @@ public class LoginPanel extends JPanel {
                 return;
             }
 
-            User user = service.login(email, password);
-            if (user != null) {
-//                showSuccess("Login successful!");
-                onLoginSuccess.accept(user);
-                onSuccess.run();
-            } else {
-                showError("Invalid email or password");
-            }
+            loginTask.submit(() -> async.login(email, password), user -> {
+                if (user != null) {
+//                    showSuccess("Login successful!");
+                    onLoginSuccess.accept(user);
+                    onSuccess.run();
+                } else {
+                    showError("Invalid email or password");
+                }
+            });
         });
 
         registerButton.addActionListener(e -> goToRegister.run());
@@ -2,14 +2,17 @@ package finance.tracker.ui;
 
 import finance.tracker.model.User;
 import finance.tracker.repository.*;
+import finance.tracker.service.AsyncServices;
 import finance.tracker.service.CategoryService;
 import finance.tracker.service.TransactionService;
 import finance.tracker.service.UserService;
 
+import javax.sql.DataSource;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.sql.Connection;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
@@ -33,16 +36,20 @@ public class MainFrame extends JFrame {
     private final JPanel mainPanel = new JPanel(cards);
     private JToolBar sidebar;
 
-    /* DAOs */
-    private final Connection conn = DatabaseConnector.getInstance();
-    private final CategoryDAO catDAO = new CategoryDAO(conn);
+    /* DAOs — the pool opens on first use; see connectInBackground() */
+    private final DataSource db = DatabaseConnector.lazy();
+    private final CategoryDAO catDAO = new CategoryDAO(db);
     private final CategoryService catService = new CategoryService(catDAO);
-    private final TransactionDAO txDAO = new TransactionDAO(conn);
-    private final TransactionService service = new TransactionService(txDAO);
-    private final UserDAO userDAO = new UserDAO(conn);
+    private final TransactionDAO txDAO = new TransactionDAO(db);
+    private final TransactionService service =
+            new TransactionService(txDAO, TransactionService.ledgerFromSystemProperties(txDAO));
+    private final UserDAO userDAO = new UserDAO(db);
     private final UserService userService = new UserService(userDAO);
+    // Every DB call from the UI goes through here so the EDT never blocks on JDBC
+    private final AsyncServices async = new AsyncServices(service, catService, userService,
+            Duration.ofSeconds(Long.getLong("ui.callTimeoutSeconds", 30)));
 
-    /* Feature panels */
+    /* Feature panels — the dashboard is built at login, the rest on first navigation */
     private DashboardPanel dash;
     private AddTransactionPanel add;
     private ViewTransactionPanel view;
@@ -52,16 +59,43 @@ public class MainFrame extends JFrame {
 
     public MainFrame() {
         super("Finance Tracker");
+        long t0 = System.nanoTime();
+        connectInBackground();
         setSize(W, H);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setSystemLF();
+        long lookAndFeel = System.nanoTime();
 
         // initial unauthenticated layout
         buildLoginPanel();
         setContentPane(buildContainer());
         sidebar.setVisible(false); // hide until login
         setVisible(true);
+        long visible = System.nanoTime();
+
+        // Wall clock from JVM start until the login screen is up, class loading and main() included
+        long jvmToFrame = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("⏱️ Startup: JVM to frame " + jvmToFrame + " ms, look and feel " + millis(t0, lookAndFeel)
+                + " ms, login screen " + millis(lookAndFeel, visible) + " ms");
+    }
+
+    /** Opens the pool and migrates while the user types their credentials. */
+    private void connectInBackground() {
+        Thread.ofPlatform().daemon().name("db-connect").start(() -> {
+            long t0 = System.nanoTime();
+            try {
+                DatabaseConnector.getInstance();
+                System.out.println("⏱️ Database ready in " + millis(t0, System.nanoTime()) + " ms");
+            } catch (RuntimeException e) {
+                // The login call will try again and report the failure
+                System.err.println("⚠️ Could not connect in the background: " + e.getMessage());
+            }
+        });
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000;
     }
 
     /* ================= INITIAL BUILDERS ================= */
@@ -81,19 +115,11 @@ public class MainFrame extends JFrame {
 
         bar.add(makeNavBtn("🏠", "Dashboard", () -> cards.show(mainPanel, "HOME")));
         bar.addSeparator();
-//        bar.add(makeNavBtn("➕", "Add Transaction", () -> cards.show(mainPanel, "ADD")));
-        bar.add(makeNavBtn("➕", "Add Transaction", () -> {
-            add.loadCategories(current.getUserId(), catService); // Refresh categories
-            cards.show(mainPanel, "ADD");
-        }));
-
+        bar.add(makeNavBtn("➕", "Add Transaction", this::showAdd));
         bar.addSeparator();
-        bar.add(makeNavBtn("📋", "View Transactions", () -> {
-            if (view != null) view.loadTransactions();
-            cards.show(mainPanel, "VIEW");
-        }));
+        bar.add(makeNavBtn("📋", "View Transactions", this::showView));
         bar.addSeparator();
-        bar.add(makeNavBtn("🗂", "Categories", () -> cards.show(mainPanel, "CATEGORIES")));
+        bar.add(makeNavBtn("🗂", "Categories", this::showCategories));
         return bar;
     }
 
@@ -115,23 +141,49 @@ public class MainFrame extends JFrame {
     }
 
     /* ================= AUTHENTICATED BUILDERS ================= */
-    private void initFeaturePanels() {
-        dash = new DashboardPanel(current.getUserId(),service);
-        add = new AddTransactionPanel(catService, current.getUserId(), () -> {
-            dash.refresh();
-            cards.show(mainPanel, "HOME")
-            ;
-        }, service);
-        view = new ViewTransactionPanel(service, current.getUserId(), () -> cards.show(mainPanel, "HOME"));
-        cats = new ManageCategoryPanel(catService, current.getUserId(), () -> cards.show(mainPanel, "HOME"));
-    }
-
     private void buildCardsAfterLogin() {
         mainPanel.removeAll();
+        add = null;
+        view = null;
+        cats = null;
+        long t0 = System.nanoTime();
+        dash = new DashboardPanel(current.getUserId(), async, () ->
+                System.out.println("⏱️ Dashboard interactive after " + millis(t0, System.nanoTime()) + " ms"));
         mainPanel.add(buildHomeWrapper(), "HOME");
-        mainPanel.add(add, "ADD");
-        mainPanel.add(view, "VIEW");
-        mainPanel.add(cats, "CATEGORIES");
+    }
+
+    // Each feature card is built the first time it's opened; later visits just reload it
+
+    void showAdd() {
+        if (add == null) {
+            add = new AddTransactionPanel(async, current.getUserId(), () -> {
+                dash.refresh();
+                cards.show(mainPanel, "HOME");
+            });
+            mainPanel.add(add, "ADD");
+        }
+        add.loadCategories(); // Refresh categories
+        cards.show(mainPanel, "ADD");
+    }
+
+    void showView() {
+        if (view == null) {
+            view = new ViewTransactionPanel(async, current.getUserId(), () -> cards.show(mainPanel, "HOME"));
+            mainPanel.add(view, "VIEW"); // loads on construction
+        } else {
+            view.loadTransactions();
+        }
+        cards.show(mainPanel, "VIEW");
+    }
+
+    void showCategories() {
+        if (cats == null) {
+            // Renames and deletes change the dashboard's per-category totals
+            cats = new ManageCategoryPanel(async, current.getUserId(), () -> cards.show(mainPanel, "HOME"),
+                    () -> dash.refresh());
+            mainPanel.add(cats, "CATEGORIES");
+        }
+        cards.show(mainPanel, "CATEGORIES");
     }
 
     private JPanel buildHomeWrapper() {
@@ -185,6 +237,10 @@ public class MainFrame extends JFrame {
     private void logout() {
         JOptionPane.showMessageDialog(this, "You have been logged out.");
         current = null;
+        dash = null;
+        add = null;
+        view = null;
+        cats = null;
         sidebar.setVisible(false);
         mainPanel.removeAll();
         buildLoginPanel();
@@ -196,21 +252,15 @@ public class MainFrame extends JFrame {
     private void buildLoginPanel() {
         // Build Login Panel with navigation to Register
         LoginPanel login = new LoginPanel(
-                userService,
+                async,
                 () -> {}, // onSuccess placeholder (handled inside onLoginSuccess)
-                u -> {                     // onLoginSuccess
-                    current = u;
-                    sidebar.setVisible(true);
-                    initFeaturePanels();
-                    buildCardsAfterLogin();
-                    cards.show(mainPanel, "HOME");
-                },
+                this::openSession,         // onLoginSuccess
                 () -> cards.show(mainPanel, "REGISTER") // goToRegister
         );
 
         // Build Register Panel with back‑to‑Login navigation
         RegisterPanel register = new RegisterPanel(
-                userService,
+                async,
                 () -> cards.show(mainPanel, "LOGIN")
         );
 
@@ -218,6 +268,16 @@ public class MainFrame extends JFrame {
         mainPanel.add(register, "REGISTER");
     }
 
+    void openSession(User u) {
+        long t0 = System.nanoTime();
+        current = u;
+        sidebar.setVisible(true);
+        buildCardsAfterLogin();
+        cards.show(mainPanel, "HOME");
+        // Widgets only; the summary arrives later, see the "interactive" line
+        System.out.println("⏱️ Dashboard built in " + millis(t0, System.nanoTime()) + " ms");
+    }
+
     /* ================= HELPERS ================= */
     private JPanel wrapWithPadding(JComponent c) { JPanel p = new JPanel(new BorderLayout()); p.setBorder(new EmptyBorder(10, 10, 10, 10)); p.add(c); return p; }
     private void setSystemLF() { try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch (Exception ignored) {} }
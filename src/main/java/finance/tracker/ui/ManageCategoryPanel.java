@@ -4,12 +4,13 @@ package finance.tracker.ui;
 import finance.tracker.model.Category;
 import finance.tracker.model.TransactionType;
 import finance.tracker.repository.CategoryDAO;
-import finance.tracker.service.CategoryService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ManageCategoryPanel extends JPanel {
@@ -21,7 +22,7 @@ public class ManageCategoryPanel extends JPanel {
     private static final Font INPUT_FONT = new Font("SansSerif", Font.PLAIN, 14);
     private static final int FIELD_HEIGHT = 35;
 
-    private final CategoryService service;
+    private final AsyncServices async;
     private final int userId;
     private final DefaultTableModel tableModel;
     private final JTable categoryTable;
@@ -29,16 +30,26 @@ public class ManageCategoryPanel extends JPanel {
     private final JComboBox<TransactionType> typeBox;
     private final JButton addButton;
     private final JButton backButton;
-
-    public ManageCategoryPanel(CategoryService service, int userId, Runnable onBack) {
-        this.service = service;
+    private final BackgroundTask<List<Category>> loadTask;
+    private final BackgroundTask<Boolean> addTask;
+    private List<Category> rows = new ArrayList<>(); // categories in table row order
+    private final Runnable onChanged;
+
+    /** {@code onChanged} runs after a category was renamed or deleted, e.g. to refresh cached totals. */
+    public ManageCategoryPanel(AsyncServices async, int userId, Runnable onBack, Runnable onChanged) {
+        this.async = async;
         this.userId = userId;
+        this.onChanged = onChanged;
 
         // Initialize components
         nameField = createStyledTextField();
         typeBox = createStyledComboBox(TransactionType.values());
         addButton = createStyledButton("Add ", PRIMARY_COLOR);
         backButton = createStyledButton("Back", new Color(108, 117, 125));
+        loadTask = new BackgroundTask<>(BackgroundTask.waitCursor(this),
+                e -> showError(BackgroundTask.describe(e, "Could not load categories.")));
+        addTask = new BackgroundTask<>(busy -> addButton.setEnabled(!busy),
+                e -> showError(BackgroundTask.describe(e, "Failed to add category.")));
 
         // Setup table
         tableModel = new DefaultTableModel(new Object[]{"Name", "Type", "", ""}, 0) {
@@ -197,67 +208,68 @@ public class ManageCategoryPanel extends JPanel {
             }
 
             Category category = new Category(0, name, type, userId);
-            boolean success = service.addCategory(category);
-
-            if (success) {
-                showSuccess("Category added successfully!");
-                nameField.setText("");
-                typeBox.setSelectedIndex(0);
-                refreshTable();
-            } else {
-                showError("Failed to add category.");
-            }
+            addTask.submit(() -> async.addCategory(category), success -> {
+                if (success) {
+                    showSuccess("Category added successfully!");
+                    nameField.setText("");
+                    typeBox.setSelectedIndex(0);
+                    refreshTable();
+                } else {
+                    showError("Failed to add category.");
+                }
+            });
         });
 
         backButton.addActionListener(e -> onBack.run());
     }
 
     public void refreshTable() {
-        tableModel.setRowCount(0);
-        List<Category> categories = service.getAllByUser(userId);
-        for (Category c : categories) {
-            tableModel.addRow(new Object[]{
-                    c.getCategoryName(),
-                    c.getTransactionType(),
-                    "Edit",
-                    "Delete"
-            });
-        }
+        loadTask.submit(() -> async.getAllCategoriesByUser(userId), categories -> {
+            rows = categories;
+            tableModel.setRowCount(0);
+            for (Category c : categories) {
+                tableModel.addRow(new Object[]{
+                        c.getCategoryName(),
+                        c.getTransactionType(),
+                        "Edit",
+                        "Delete"
+                });
+            }
+        });
     }
 
-    public void editCategory(int row) {
-        if (row < 0) return;
+    private void afterWrite() {
+        refreshTable();
+        onChanged.run();
+    }
 
-        String name = (String) tableModel.getValueAt(row, 0);
-        TransactionType type = (TransactionType) tableModel.getValueAt(row, 1);
-        Category category = service.findByNameTypeAndUserId(name, type, userId);
+    public void editCategory(int row) {
+        if (row < 0 || row >= rows.size()) return;
 
+        Category category = rows.get(row);
         if (category != null) {
             Frame parent = (Frame) SwingUtilities.getWindowAncestor(this);
             EditCategoryDialog dialog = new EditCategoryDialog(
                     (JFrame) parent,
                     category,
-                    service,
-                    this::refreshTable
+                    async,
+                    this::afterWrite
             );
             dialog.setVisible(true);
         }
     }
 
     public void deleteCategory(int row) {
-        if (row < 0) return;
-
-        String name = (String) tableModel.getValueAt(row, 0);
-        TransactionType type = (TransactionType) tableModel.getValueAt(row, 1);
-        Category category = service.findByNameTypeAndUserId(name, type, userId);
+        if (row < 0 || row >= rows.size()) return;
 
+        Category category = rows.get(row);
         if (category != null) {
             Frame parent = (Frame) SwingUtilities.getWindowAncestor(this);
             DeleteCategoryDialog dialog = new DeleteCategoryDialog(
                     (JFrame) parent,
                     category,
-                    service,
-                    this::refreshTable
+                    async,
+                    this::afterWrite
             );
             dialog.setVisible(true);
         }
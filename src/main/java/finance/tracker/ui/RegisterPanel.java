@@ -1,7 +1,7 @@
 package finance.tracker.ui;
 
 import finance.tracker.repository.UserDAO;
-import finance.tracker.service.UserService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -15,7 +15,7 @@ public class RegisterPanel extends JPanel {
     private static final int FIELD_WIDTH = 300;
     private static final int FIELD_HEIGHT = 35;
 
-    public RegisterPanel(UserService service, Runnable goToLogin) {
+    public RegisterPanel(AsyncServices async, Runnable goToLogin) {
         setLayout(new GridBagLayout());
         setBackground(BACKGROUND_COLOR);
         setBorder(new EmptyBorder(20, 40, 20, 40));
@@ -87,6 +87,8 @@ public class RegisterPanel extends JPanel {
         add(loginPanel, gbc);
 
         // Action listeners
+        BackgroundTask<Boolean> registerTask = new BackgroundTask<>(busy -> registerButton.setEnabled(!busy),
+                ex -> showError(BackgroundTask.describe(ex, "Registration failed, please try again")));
         registerButton.addActionListener(e -> {
             String username = usernameField.getText().trim();
             String email = emailField.getText().trim();
@@ -113,12 +115,14 @@ public class RegisterPanel extends JPanel {
                 return;
             }
 
-            if (service.register(email, password, username)) {
-                showSuccess("Registration successful!");
-                goToLogin.run();
-            } else {
-                showError("Email already exists");
-            }
+            registerTask.submit(() -> async.register(email, password, username), registered -> {
+                if (registered) {
+                    showSuccess("Registration successful!");
+                    goToLogin.run();
+                } else {
+                    showError("Email already exists");
+                }
+            });
         });
 
         loginButton.addActionListener(e -> goToLogin.run());
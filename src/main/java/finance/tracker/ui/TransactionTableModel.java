@@ -0,0 +1,294 @@
+package finance.tracker.ui;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.model.TransactionFilter;
+import finance.tracker.model.TransactionSort;
+import finance.tracker.model.TransactionType;
+import finance.tracker.service.AsyncServices;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Table model over a user's whole filtered history.
+ *
+ * <p>When the history has at most {@link #LOCAL_ROW_LIMIT} rows, {@link #open} loads all
+ * of it once as a {@link TransactionBatch}. After that, filtering and sorting never hit
+ * the database: the batch's date-sorted columns give the date range by binary search,
+ * type and category are compared as small ints, and amount order comes from a
+ * permutation computed once in the background. The result is an {@code int[]} of batch
+ * rows, rebuilt in well under a millisecond for 100k rows.
+ *
+ * <p>Larger histories stay in the database and only the rows near the viewport are held.
+ * The row count comes from a COUNT query. Rows are fetched in blocks of {@link #BLOCK_ROWS}
+ * the first time the table asks for a cell in them, and least recently used blocks are
+ * dropped beyond {@link #MAX_BLOCKS}. Sorting happens in SQL. A block is fetched by
+ * seeking from the nearest row already known (the top, the bottom, or the edge of a
+ * loaded block) by its (date, id) or (amount, id) key, so OFFSET only skips the gap
+ * from there: scrolling is proportional to the block, and a jump into the middle of a
+ * long history pays for the distance to the nearer end once.
+ *
+ * <p>Cells are raw values: type, amount in minor units as a {@code Long}, category,
+ * description and {@link LocalDate}. Formatting is left to the renderers. A cell whose
+ * block hasn't arrived yet is {@code null}. EDT only.
+ */
+class TransactionTableModel extends AbstractTableModel {
+    static final int COL_TYPE = 0, COL_AMOUNT = 1, COL_CATEGORY = 2, COL_DESCRIPTION = 3, COL_DATE = 4;
+    static final int BLOCK_ROWS = 200;
+    static final int MAX_BLOCKS = 50;
+    static final int LOCAL_ROW_LIMIT = Integer.getInteger("ui.localFilterRows", 250_000);
+
+    private static final String[] COLUMNS = {"Type", "Amount", "Category", "Description", "Date"};
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    /** One fetched window, stored column-wise. */
+    private static final class Block {
+        final byte[] types;
+        final long[] amounts;
+        final int[] days;
+        final Category[] categories;
+        final String[] descriptions;
+        final TransactionSort.Key first, last; // null when empty
+
+        Block(List<BaseTransaction> rows, TransactionSort sort) {
+            int n = rows.size();
+            first = n == 0 ? null : sort.keyOf(rows.get(0));
+            last = n == 0 ? null : sort.keyOf(rows.get(n - 1));
+            types = new byte[n];
+            amounts = new long[n];
+            days = new int[n];
+            categories = new Category[n];
+            descriptions = new String[n];
+            for (int i = 0; i < n; i++) {
+                BaseTransaction tx = rows.get(i);
+                types[i] = (byte) tx.getType().ordinal();
+                amounts[i] = tx.getAmountMinor();
+                days[i] = (int) tx.getDate().toEpochDay();
+                categories[i] = tx.getCategory();
+                descriptions[i] = tx.getDescription();
+            }
+        }
+
+        int size() {
+            return types.length;
+        }
+    }
+
+    private final AsyncServices async;
+    private final BackgroundTask<Integer> countTask;
+    private final Consumer<Throwable> onError;
+    private final Map<Integer, Block> blocks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Block> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+    private final BackgroundTask<Snapshot> snapshotTask;
+
+    /** Where to start a block fetch: {@code offset} rows past {@code after} in {@code sort} order. */
+    private record Seek(TransactionSort sort, TransactionSort.Key after, int offset, boolean reversed) {}
+
+    /** Whole history of one user, plus its rows in amount order. */
+    private record Snapshot(int userId, TransactionBatch batch, int[] byAmount) {}
+
+    private Snapshot snapshot; // null in database mode
+    private int[] view = new int[0]; // snapshot rows on screen, in display order
+
+    private int userId;
+    private TransactionFilter filter = TransactionFilter.NONE;
+    private TransactionSort sort = TransactionSort.DATE_DESC;
+    private int rowCount;
+    private int generation; // bumped on every reload so late blocks from an old query are ignored
+
+    TransactionTableModel(AsyncServices async, Consumer<Boolean> busy, Consumer<Throwable> onError) {
+        this.async = async;
+        this.onError = onError;
+        this.countTask = new BackgroundTask<>(busy, onError);
+        this.snapshotTask = new BackgroundTask<>(busy, onError);
+    }
+
+    /**
+     * (Re)loads the user's history: the whole of it when small enough, otherwise just
+     * the count. Call when the screen is shown so rows added elsewhere appear.
+     */
+    void open(int userId, TransactionFilter filter, TransactionSort sort) {
+        this.userId = userId;
+        this.filter = filter;
+        this.sort = sort;
+        snapshotTask.submit(() -> async.countTransactions(userId, TransactionFilter.NONE).thenCompose(total ->
+                total < 0 || total > LOCAL_ROW_LIMIT
+                        ? CompletableFuture.completedFuture(null)
+                        : async.loadBatch(userId, null, null)
+                        // runs on the service thread that loaded the batch, not the EDT
+                        .thenApply(batch -> new Snapshot(userId, batch, batch.rowsByAmount()))), loaded -> {
+            snapshot = loaded;
+            reload(this.userId, this.filter, this.sort);
+        });
+    }
+
+    /** Applies a new filter or order: in memory when a snapshot is loaded, else re-counts in SQL. */
+    void reload(int userId, TransactionFilter filter, TransactionSort sort) {
+        this.userId = userId;
+        this.filter = filter;
+        this.sort = sort;
+        if (snapshot != null && snapshot.userId() == userId) {
+            rowCount = select(snapshot, filter, sort);
+            fireTableDataChanged();
+            return;
+        }
+        snapshot = null;
+        generation++;
+        blocks.clear();
+        loading.clear();
+        countTask.submit(() -> async.countTransactions(userId, filter), count -> {
+            rowCount = Math.max(count, 0);
+            fireTableDataChanged();
+        });
+    }
+
+    /** Fills {@link #view} with matching snapshot rows in {@code sort} order; returns how many. */
+    private int select(Snapshot s, TransactionFilter f, TransactionSort sort) {
+        TransactionBatch batch = s.batch();
+        if (view.length < batch.size()) view = new int[batch.size()];
+        int code = -1;
+        if (f.categoryId() != null) {
+            code = batch.codeOf(f.categoryId());
+            if (code < 0) return 0; // no rows in that category
+        }
+        int fromDay = f.from() == null ? Integer.MIN_VALUE : (int) f.from().toEpochDay();
+        int toDay = f.to() == null ? Integer.MAX_VALUE : (int) f.to().toEpochDay() + 1; // inclusive bound
+        int n = switch (sort) {
+            case DATE_ASC, DATE_DESC -> batch.filter(f.type(), code, fromDay, toDay, view);
+            case AMOUNT_ASC, AMOUNT_DESC -> batch.filter(s.byAmount(), f.type(), code, fromDay, toDay, view);
+        };
+        if (sort.descending()) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int tmp = view[i];
+                view[i] = view[j];
+                view[j] = tmp;
+            }
+        }
+        return n;
+    }
+
+    TransactionFilter getFilter() {
+        return filter;
+    }
+
+    TransactionSort getSort() {
+        return sort;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return switch (column) {
+            case COL_TYPE -> TransactionType.class;
+            case COL_AMOUNT -> Long.class;
+            case COL_CATEGORY -> Category.class;
+            case COL_DATE -> LocalDate.class;
+            default -> String.class;
+        };
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (snapshot != null) {
+            TransactionBatch batch = snapshot.batch();
+            int i = view[row];
+            return switch (column) {
+                case COL_TYPE -> batch.type(i);
+                case COL_AMOUNT -> batch.amountMinor(i);
+                case COL_CATEGORY -> batch.category(i);
+                case COL_DESCRIPTION -> batch.description(i);
+                case COL_DATE -> batch.date(i);
+                default -> null;
+            };
+        }
+        int index = row / BLOCK_ROWS;
+        Block block = blocks.get(index);
+        if (block == null) {
+            request(index);
+            return null;
+        }
+        int i = row % BLOCK_ROWS;
+        if (i >= block.size()) return null; // rows deleted since the count
+        return switch (column) {
+            case COL_TYPE -> TYPES[block.types[i]];
+            case COL_AMOUNT -> block.amounts[i];
+            case COL_CATEGORY -> block.categories[i];
+            case COL_DESCRIPTION -> block.descriptions[i];
+            case COL_DATE -> LocalDate.ofEpochDay(block.days[i]);
+            default -> null;
+        };
+    }
+
+    private void request(int index) {
+        int first = index * BLOCK_ROWS;
+        int count = Math.min(BLOCK_ROWS, rowCount - first);
+        if (count <= 0 || !loading.add(index)) return;
+        int gen = generation;
+        TransactionSort order = sort;
+        Seek seek = nearestSeek(first, count);
+        async.getWindow(userId, filter, seek.sort(), seek.after(), seek.offset(), count)
+                .thenApply(rows -> seek.reversed() ? rows.reversed() : rows)
+                .whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+                    if (gen != generation) return;
+                    loading.remove(index);
+                    if (error != null) onError.accept(BackgroundTask.unwrap(error));
+                    // A failed block stays blank rather than being retried on every repaint
+                    blocks.put(index, new Block(error != null ? List.of() : rows, order));
+                    int last = Math.min(rowCount, first + BLOCK_ROWS) - 1;
+                    if (last >= first) fireTableRowsUpdated(first, last);
+                }));
+    }
+
+    /**
+     * Cheapest way to reach rows {@code [first, first + count)}: from the top, from the
+     * bottom (reverse order, then flipped back), or from the nearest loaded block's edge key.
+     */
+    private Seek nearestSeek(int first, int count) {
+        int last = first + count - 1;
+        Seek best = new Seek(sort, null, first, false);
+        int fromBottom = rowCount - 1 - last;
+        if (fromBottom < best.offset()) best = new Seek(sort.reversed(), null, fromBottom, true);
+        for (Map.Entry<Integer, Block> e : blocks.entrySet()) {
+            int start = e.getKey() * BLOCK_ROWS;
+            Block b = e.getValue();
+            // A short block means rows changed since the count; its edges no longer say where it sits
+            if (b.size() == 0 || b.size() != Math.min(BLOCK_ROWS, rowCount - start)) continue;
+            int end = start + b.size();
+            if (end <= first && first - end < best.offset()) {
+                best = new Seek(sort, b.last, first - end, false);
+            } else if (start > last && start - 1 - last < best.offset()) {
+                best = new Seek(sort.reversed(), b.first, start - 1 - last, true);
+            }
+        }
+        return best;
+    }
+}
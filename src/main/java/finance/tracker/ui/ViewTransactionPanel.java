@@ -1,25 +1,26 @@
 package finance.tracker.ui;
 
-import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.Money;
+import finance.tracker.model.TransactionFilter;
+import finance.tracker.model.TransactionSort;
+import finance.tracker.model.TransactionType;
 import finance.tracker.repository.TransactionDAO;
-import finance.tracker.service.TransactionService;
+import finance.tracker.service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableColumn;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.*;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class ViewTransactionPanel extends JPanel {
     private static final Color PRIMARY_COLOR = new Color(51, 153, 255);
@@ -29,40 +30,53 @@ public class ViewTransactionPanel extends JPanel {
     private static final Font INPUT_FONT = new Font("SansSerif", Font.PLAIN, 14);
     private static final int FIELD_HEIGHT = 35;
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String ALL = "All";
+    private static final int TYPING_DELAY_MS = 250;
 
     private JTable table;
-    private DefaultTableModel tableModel;
-    private TableRowSorter<DefaultTableModel> sorter;
-    private final TransactionService service;
+    private final TransactionTableModel tableModel;
+    private final AsyncServices async;
     private int userId;
 
+    // Filter of the rows on screen
+    private TransactionFilter activeFilter;
+    private boolean suppressFilterEvents;
+    private final BackgroundTask<List<Category>> categoryTask;
+    private final Timer typingDebounce = new Timer(TYPING_DELAY_MS, e -> applyFilters());
+
     // Filter components
     private JComboBox<String> typeFilter;
-    private JComboBox<String> categoryFilter;
+    private JComboBox<Object> categoryFilter;
     private final JTextField minDateField;
     private final JTextField maxDateField;
     private final JButton clearBtn;
     private final JButton backButton;
+    private final JLabel statusLabel;
 
-    public ViewTransactionPanel(TransactionService service, int userId, Runnable onBack) {
-        this.service = service;
+    public ViewTransactionPanel(AsyncServices async, int userId, Runnable onBack) {
+        this.async = async;
         this.userId = userId;
 
         // Initialize components first
         typeFilter = createStyledComboBox(new String[]{"All", "INCOME", "EXPENSE"});
-        categoryFilter = createStyledComboBox(new String[]{"All"});
+        categoryFilter = createStyledComboBox(ALL);
         minDateField = createStyledTextField();
         maxDateField = createStyledTextField();
         clearBtn = createStyledButton("Clear", new Color(108, 117, 125));
         backButton = createStyledButton("Back", new Color(108, 117, 125));
-
-        // Initialize table
-        tableModel = new DefaultTableModel(new Object[]{"Type", "Amount", "Category", "Description", "Date"}, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        statusLabel = new JLabel();
+        statusLabel.setFont(INPUT_FONT);
+        categoryTask = new BackgroundTask<>(busy -> {},
+                e -> statusLabel.setText(BackgroundTask.describe(e, "Could not load categories.")));
+
+        // Initialize table: rows are fetched lazily as they scroll into view, sorted in SQL
+        tableModel = new TransactionTableModel(async,
+                busy -> { if (busy) statusLabel.setText("Loading…"); },
+                e -> statusLabel.setText(BackgroundTask.describe(e, "Could not load transactions.")));
+        tableModel.addTableModelListener(e -> {
+            if (e.getLastRow() == Integer.MAX_VALUE) statusLabel.setText(tableModel.getRowCount() + " transactions");
+        });
         table = createStyledTable();
-        sorter = new TableRowSorter<>(tableModel);
-        table.setRowSorter(sorter);
 
         // Setup panel
         setLayout(new BorderLayout(20, 20));
@@ -79,7 +93,6 @@ public class ViewTransactionPanel extends JPanel {
 
         // Initial load
         loadTransactions();
-        applyFilters();
     }
     private JPanel createHeaderPanel() {
         JPanel headerPanel = new JPanel(new BorderLayout());
@@ -124,10 +137,15 @@ public class ViewTransactionPanel extends JPanel {
     }
 
     private JPanel createButtonPanel(Runnable onBack) {
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JPanel buttonPanel = new JPanel(new BorderLayout());
         buttonPanel.setBackground(BACKGROUND_COLOR);
+        buttonPanel.add(statusLabel, BorderLayout.WEST);
+
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        actions.setBackground(BACKGROUND_COLOR);
         backButton.addActionListener(e -> onBack.run());
-        buttonPanel.add(backButton);
+        actions.add(backButton);
+        buttonPanel.add(actions, BorderLayout.EAST);
         return buttonPanel;
     }
 
@@ -139,9 +157,65 @@ public class ViewTransactionPanel extends JPanel {
         table.setFillsViewportHeight(true);
         table.setShowVerticalLines(true);
         table.setGridColor(new Color(230, 230, 230));
+        table.setDefaultRenderer(Object.class, new PlaceholderRenderer());
+        table.setDefaultRenderer(TransactionType.class, new PlaceholderRenderer());
+        table.setDefaultRenderer(Category.class, new PlaceholderRenderer());
+        table.setDefaultRenderer(String.class, new PlaceholderRenderer());
+        table.setDefaultRenderer(Long.class, new AmountRenderer());
+        table.setDefaultRenderer(LocalDate.class, new DateRenderer());
+
+        // Only date and amount have an index to sort by; clicking toggles direction
+        table.getTableHeader().setReorderingAllowed(false);
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+                TransactionSort current = tableModel.getSort();
+                TransactionSort next = switch (column) {
+                    case TransactionTableModel.COL_DATE ->
+                            current == TransactionSort.DATE_DESC ? TransactionSort.DATE_ASC : TransactionSort.DATE_DESC;
+                    case TransactionTableModel.COL_AMOUNT ->
+                            current == TransactionSort.AMOUNT_DESC ? TransactionSort.AMOUNT_ASC : TransactionSort.AMOUNT_DESC;
+                    default -> null;
+                };
+                if (next == null) return;
+                tableModel.reload(userId, tableModel.getFilter(), next);
+                updateSortHeaders();
+            }
+        });
         return table;
     }
 
+    private void updateSortHeaders() {
+        TransactionSort sort = tableModel.getSort();
+        TableColumn date = table.getColumnModel().getColumn(TransactionTableModel.COL_DATE);
+        TableColumn amount = table.getColumnModel().getColumn(TransactionTableModel.COL_AMOUNT);
+        String arrow = sort.descending() ? " ▼" : " ▲";
+        boolean byDate = sort == TransactionSort.DATE_DESC || sort == TransactionSort.DATE_ASC;
+        date.setHeaderValue("Date" + (byDate ? arrow : ""));
+        amount.setHeaderValue("Amount" + (byDate ? "" : arrow));
+        table.getTableHeader().repaint();
+    }
+
+    /** Shows "…" for rows whose block is still loading. */
+    private static class PlaceholderRenderer extends DefaultTableCellRenderer {
+        @Override protected void setValue(Object value) {
+            setText(value == null ? "…" : format(value));
+        }
+
+        String format(Object value) {
+            return value.toString();
+        }
+    }
+
+    private static class AmountRenderer extends PlaceholderRenderer {
+        AmountRenderer() { setHorizontalAlignment(SwingConstants.RIGHT); }
+        @Override String format(Object value) { return Money.format((Long) value); }
+    }
+
+    private static class DateRenderer extends PlaceholderRenderer {
+        @Override String format(Object value) { return DATE_FMT.format((LocalDate) value); }
+    }
+
     private JTextField createStyledTextField() {
         JTextField field = new JTextField(10);
         field.setFont(INPUT_FONT);
@@ -182,10 +256,12 @@ public class ViewTransactionPanel extends JPanel {
         typeFilter.addActionListener(e -> applyFilters());
         categoryFilter.addActionListener(e -> applyFilters());
 
+        // Date fields apply once typing pauses rather than on every keystroke
+        typingDebounce.setRepeats(false);
         DocumentListener dl = new DocumentListener() {
-            @Override public void insertUpdate(DocumentEvent e) { applyFilters(); }
-            @Override public void removeUpdate(DocumentEvent e) { applyFilters(); }
-            @Override public void changedUpdate(DocumentEvent e) { applyFilters(); }
+            @Override public void insertUpdate(DocumentEvent e) { typingDebounce.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { typingDebounce.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { typingDebounce.restart(); }
         };
 
         minDateField.getDocument().addDocumentListener(dl);
@@ -204,7 +280,7 @@ public class ViewTransactionPanel extends JPanel {
         JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
 
         typeFilter = new JComboBox<>(new String[]{"All", "INCOME", "EXPENSE"});
-        categoryFilter = new JComboBox<>(new String[]{"All"});
+        categoryFilter = new JComboBox<>(new Object[]{ALL});
 
         bar.add(new JLabel("Type:"));
         bar.add(typeFilter);
@@ -239,23 +315,6 @@ public class ViewTransactionPanel extends JPanel {
         add(bar, BorderLayout.NORTH);
     }
 
-    private void buildTable() {
-        tableModel = new DefaultTableModel(new Object[]{"Type", "Amount", "Category", "Description", "Date"}, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
-
-        table = new JTable(tableModel);
-        table.setFillsViewportHeight(true);
-        table.setRowHeight(24);
-        table.getTableHeader().setFont(new Font("SansSerif", Font.BOLD, 16));
-        table.setFont(new Font("SansSerif", Font.PLAIN, 14));
-
-        sorter = new TableRowSorter<>(tableModel);
-        table.setRowSorter(sorter);
-
-        add(new JScrollPane(table), BorderLayout.CENTER);
-    }
-
     private void buildBottomBar(Runnable onBack) {
         JButton backButton = new JButton("Back");
         backButton.addActionListener(e -> onBack.run());
@@ -267,82 +326,54 @@ public class ViewTransactionPanel extends JPanel {
 
     // ── data loading ──────────────────────────────────────────────────────────
 
+    /** Reloads categories and the history (see {@link TransactionTableModel#open}) for the current filter. */
     public void loadTransactions() {
-        tableModel.setRowCount(0);
-
-        List<BaseTransaction> transactions = service.getAllByUser(userId);
-
-        // Stream API: add rows + collect distinct category names in one pass
-        Set<String> categories = transactions.stream()
-                .peek(tx -> tableModel.addRow(new Object[]{
-                        tx.getType().name(),
-                        tx.getAmount(),
-                        tx.getCategory().getCategoryName(),
-                        tx.getDescription(),
-                        formatDate(tx.getDate())
-                }))
-                .map(tx -> tx.getCategory().getCategoryName())
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        refreshCategoryCombo(categories);
-        applyFilters(); // re‑apply filters after reload
+        refreshCategoryCombo();
+        activeFilter = currentFilter();
+        tableModel.open(userId, activeFilter, tableModel.getSort());
     }
 
-    private String formatDate(Object dateObj) {
-        if (dateObj == null) return "";
-        if (dateObj instanceof java.util.Date d) {
-            return DATE_FMT.format(d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
-        }
-        if (dateObj instanceof LocalDate ld) {
-            return DATE_FMT.format(ld);
-        }
-        if (dateObj instanceof LocalDateTime ldt) {
-            return DATE_FMT.format(ldt.toLocalDate());
-        }
-        return dateObj.toString();
+    private void refreshCategoryCombo() {
+        int uid = userId;
+        categoryTask.submit(() -> async.getCategoriesForUser(uid), this::fillCategoryCombo);
     }
 
-    private void refreshCategoryCombo(Set<String> categoryNames) {
-        String prevSelection = (String) categoryFilter.getSelectedItem();
-        categoryFilter.removeAllItems();
-        categoryFilter.addItem("All");
-        categoryNames.forEach(categoryFilter::addItem);
-        categoryFilter.setSelectedItem(prevSelection != null ? prevSelection : "All");
+    private void fillCategoryCombo(List<Category> categories) {
+        Object prevSelection = categoryFilter.getSelectedItem();
+        suppressFilterEvents = true;
+        try {
+            categoryFilter.removeAllItems();
+            categoryFilter.addItem(ALL);
+            Object restored = ALL;
+            for (Category c : categories) {
+                categoryFilter.addItem(c);
+                if (prevSelection instanceof Category prev && prev.getCategoryId() == c.getCategoryId()) restored = c;
+            }
+            categoryFilter.setSelectedItem(restored);
+        } finally {
+            suppressFilterEvents = false;
+        }
     }
 
-    // ── live filtering logic ─────────────────────────────────────────────────
+    // ── filtering (in memory for small histories, otherwise in SQL) ──────────
 
     private void applyFilters() {
-        List<RowFilter<DefaultTableModel, Integer>> filters = new ArrayList<>();
+        typingDebounce.stop();
+        if (suppressFilterEvents) return;
+        // Half-typed dates parse to null, so keystrokes only reload once the filter really changes
+        if (currentFilter().equals(activeFilter)) return;
+        activeFilter = currentFilter();
+        tableModel.reload(userId, activeFilter, tableModel.getSort());
+    }
 
-        // type filter
+    private TransactionFilter currentFilter() {
         String type = (String) typeFilter.getSelectedItem();
-        if (type != null && !"All".equals(type)) {
-            filters.add(RowFilter.regexFilter(type, 0));
-        }
-
-        // category filter
-        String category = (String) categoryFilter.getSelectedItem();
-        if (category != null && !"All".equals(category)) {
-            filters.add(RowFilter.regexFilter("^" + Pattern.quote(category) + "$", 2));
-        }
-
-        // date range filter
-        LocalDate min = parseFilterDate(minDateField.getText());
-        LocalDate max = parseFilterDate(maxDateField.getText());
-
-        if (min != null || max != null) {
-            filters.add(new RowFilter<>() {
-                @Override public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> entry) {
-                    try {
-                        LocalDate d = LocalDate.parse((String) entry.getValue(4), DATE_FMT);
-                        return (min == null || !d.isBefore(min)) && (max == null || !d.isAfter(max));
-                    } catch (DateTimeParseException e) { return false; }
-                }
-            });
-        }
-
-        sorter.setRowFilter(filters.isEmpty() ? null : RowFilter.andFilter(filters));
+        Object category = categoryFilter.getSelectedItem();
+        return new TransactionFilter(
+                type == null || ALL.equals(type) ? null : TransactionType.valueOf(type),
+                category instanceof Category c ? c.getCategoryId() : null,
+                parseFilterDate(minDateField.getText()),
+                parseFilterDate(maxDateField.getText()));
     }
 
     private LocalDate parseFilterDate(String text) {
@@ -355,18 +386,22 @@ public class ViewTransactionPanel extends JPanel {
     }
 
     private void resetFilters() {
-        typeFilter.setSelectedIndex(0);
-        categoryFilter.setSelectedIndex(0);
-        minDateField.setText("");
-        maxDateField.setText("");
-        sorter.setRowFilter(null);
+        suppressFilterEvents = true;
+        try {
+            typeFilter.setSelectedIndex(0);
+            categoryFilter.setSelectedIndex(0);
+            minDateField.setText("");
+            maxDateField.setText("");
+        } finally {
+            suppressFilterEvents = false;
+        }
     }
 
     // ── user context change ─────────────────────────────────────────────────--
 
     public void setUserId(int userId) {
         this.userId = userId;
-        loadTransactions();
         resetFilters();
+        loadTransactions();
     }
 }
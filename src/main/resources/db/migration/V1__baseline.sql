@@ -0,0 +1,27 @@
+-- Baseline schema. IF NOT EXISTS lets databases that were set up by hand adopt
+-- the migration history without changes.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       SERIAL PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    username VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL
+);
+
+-- user_id is NULL for the shared default categories
+CREATE TABLE IF NOT EXISTS category (
+    id      SERIAL PRIMARY KEY,
+    name    VARCHAR(100) NOT NULL,
+    type    VARCHAR(10)  NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    user_id INT REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id          SERIAL PRIMARY KEY,
+    type        VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    amount      NUMERIC(12, 2) NOT NULL,
+    category_id INT            NOT NULL REFERENCES category (id),
+    description TEXT,
+    date        DATE           NOT NULL,
+    user_id     INT            NOT NULL REFERENCES users (id)
+);
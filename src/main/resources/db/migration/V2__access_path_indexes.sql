@@ -0,0 +1,17 @@
+-- Indexes for the queries the DAOs actually run.
+
+-- Transaction listings, keyset pages and CSV export: WHERE user_id = ? ORDER BY date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date
+    ON transactions (user_id, date DESC, id DESC);
+
+-- Monthly totals and type filters: WHERE user_id = ? AND type = ? AND date in a range
+CREATE INDEX IF NOT EXISTS idx_transactions_user_type_date
+    ON transactions (user_id, type, date);
+
+-- Category deletes check this foreign key
+CREATE INDEX IF NOT EXISTS idx_transactions_category
+    ON transactions (category_id);
+
+-- findByNameTypeAndUserId and the importer's category lookups
+CREATE INDEX IF NOT EXISTS idx_category_user_name_type
+    ON category (user_id, name, type);
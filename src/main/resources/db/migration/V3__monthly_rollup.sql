@@ -0,0 +1,19 @@
+-- Per (user, month, type, category) totals maintained by TransactionDAO and
+-- TransactionCopyLoader. See MonthlyRollupDAO.
+
+CREATE TABLE IF NOT EXISTS monthly_rollup (
+    user_id     INT            NOT NULL,
+    month       DATE           NOT NULL,
+    type        VARCHAR(10)    NOT NULL,
+    category_id INT            NOT NULL,
+    total       NUMERIC(14, 2) NOT NULL,
+    tx_count    INT            NOT NULL,
+    PRIMARY KEY (user_id, month, type, category_id)
+);
+
+-- Back-fill from existing history (no-op when the table was already populated)
+INSERT INTO monthly_rollup (user_id, month, type, category_id, total, tx_count)
+SELECT user_id, date_trunc('month', date)::date, type, category_id, SUM(amount), COUNT(*)
+FROM transactions
+WHERE NOT EXISTS (SELECT 1 FROM monthly_rollup)
+GROUP BY 1, 2, 3, 4;
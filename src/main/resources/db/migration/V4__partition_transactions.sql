@@ -0,0 +1,55 @@
+-- Turn transactions into a table range-partitioned by date. Rows are copied into
+-- monthly partitions covering the existing history plus the next few months; a
+-- DEFAULT partition catches anything outside them until TransactionPartitionManager
+-- splits it out. The primary key must include the partition key, so it becomes
+-- (id, date); ids still come from the original sequence.
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE transactions (
+    id          INT            NOT NULL,
+    type        VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    amount      NUMERIC(12, 2) NOT NULL,
+    category_id INT            NOT NULL REFERENCES category (id),
+    description TEXT,
+    date        DATE           NOT NULL,
+    user_id     INT            NOT NULL REFERENCES users (id)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+DO $$
+DECLARE
+    seq   TEXT := pg_get_serial_sequence('transactions_unpartitioned', 'id');
+    first DATE;
+    m     DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(date), CURRENT_DATE))::date INTO first
+    FROM transactions_unpartitioned;
+
+    FOR m IN SELECT generate_series(first, date_trunc('month', CURRENT_DATE) + INTERVAL '3 months', INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(m, 'YYYY_MM'), m, (m + INTERVAL '1 month')::date);
+    END LOOP;
+
+    INSERT INTO transactions (id, type, amount, category_id, description, date, user_id)
+    SELECT id, type, amount, category_id, description, date, user_id FROM transactions_unpartitioned;
+
+    IF seq IS NULL THEN
+        CREATE SEQUENCE transactions_id_seq;
+        seq := 'transactions_id_seq';
+        PERFORM setval(seq, COALESCE((SELECT MAX(id) FROM transactions), 0) + 1, false);
+    END IF;
+    EXECUTE format('ALTER SEQUENCE %s OWNED BY transactions.id', seq);
+    EXECUTE format('ALTER TABLE transactions ALTER COLUMN id SET DEFAULT nextval(%L)', seq);
+END $$;
+
+DROP TABLE transactions_unpartitioned;
+
+ALTER TABLE transactions ADD PRIMARY KEY (id, date);
+
+-- Same access-path indexes as V2, now partitioned (one per partition)
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, date DESC, id DESC);
+CREATE INDEX idx_transactions_user_type_date ON transactions (user_id, type, date);
+CREATE INDEX idx_transactions_category ON transactions (category_id);
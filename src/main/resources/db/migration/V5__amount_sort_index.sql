@@ -0,0 +1,4 @@
+-- The history screen can sort by amount: WHERE user_id = ? ORDER BY amount DESC, id DESC OFFSET ? LIMIT ?
+-- Scanned backwards for ascending order. Created on the partitioned parent, so every partition gets one.
+CREATE INDEX IF NOT EXISTS idx_transactions_user_amount
+    ON transactions (user_id, amount DESC, id DESC);
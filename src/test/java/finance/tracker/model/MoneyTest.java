@@ -0,0 +1,28 @@
+package finance.tracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    void testParseAndFormatRoundTrip() {
+        assertEquals(1234, Money.parse("12.34"));
+        assertEquals(1230, Money.parse(" 12.3 "));
+        assertEquals(-5, Money.parse("-0.05"));
+        assertEquals("12.34", Money.format(1234));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("7.00", Money.format(700));
+        assertEquals(new BigDecimal("0.30"), Money.toBigDecimal(Money.parse("0.1") + Money.parse("0.2")));
+    }
+
+    @Test
+    void testRejectsSubCentAmounts() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.005"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertEquals(100, Money.fromBigDecimal(new BigDecimal("1.000")));
+    }
+}
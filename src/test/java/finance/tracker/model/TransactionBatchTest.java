@@ -0,0 +1,99 @@
+package finance.tracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionBatchTest {
+
+    private final Category food = new Category(11, "Food", TransactionType.EXPENSE, 7);
+    private final Category salary = new Category(12, "Salary", TransactionType.INCOME, 7);
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+
+    private TransactionBatch sample() {
+        return new TransactionBatch.Builder(2)
+                .add(1, TransactionType.EXPENSE, 1_000, day(2024, 12, 30), food, "lunch")
+                .add(2, TransactionType.INCOME, 300_000, day(2025, 1, 1), salary, "pay")
+                .add(3, TransactionType.EXPENSE, 2_550, day(2025, 1, 5), food, "lunch")
+                .add(4, TransactionType.EXPENSE, 450, day(2025, 2, 1), food, "coffee")
+                .build();
+    }
+
+    @Test
+    void testDictionaryEncodingAndRowAccess() {
+        TransactionBatch batch = sample();
+        assertEquals(4, batch.size());
+        assertEquals(2, batch.categoryCount());
+        assertEquals(3, batch.distinctDescriptions());
+        assertSame(batch.category(0), batch.category(2));
+        assertEquals(LocalDate.of(2025, 1, 5), batch.date(2));
+        assertEquals(TransactionType.INCOME, batch.type(1));
+    }
+
+    @Test
+    void testKernels() {
+        TransactionBatch batch = sample();
+        assertEquals(2_550, batch.sum(TransactionType.EXPENSE, day(2025, 1, 1), day(2025, 2, 1)));
+
+        long[] byCategory = new long[batch.categoryCount()];
+        batch.sumByCategory(TransactionType.EXPENSE, Integer.MIN_VALUE, Integer.MAX_VALUE, byCategory);
+        assertEquals(4_000, byCategory[batch.categoryCode(0)]);
+
+        long[] income = new long[2], expense = new long[2];
+        batch.sumByMonth(YearMonth.of(2025, 1), income, expense);
+        assertArrayEquals(new long[]{300_000, 0}, income);
+        assertArrayEquals(new long[]{2_550, 450}, expense);
+
+        int[] rows = new int[4];
+        int n = batch.filter(TransactionType.EXPENSE, batch.categoryCode(0), day(2025, 1, 1), Integer.MAX_VALUE, rows);
+        assertEquals(2, n);
+        assertEquals(4, batch.id(rows[1]));
+    }
+
+    @Test
+    void testFilterInAmountOrder() {
+        TransactionBatch batch = sample();
+        int[] byAmount = batch.rowsByAmount();
+        assertArrayEquals(new int[]{3, 0, 2, 1}, byAmount);
+
+        int[] rows = new int[4];
+        int n = batch.filter(byAmount, TransactionType.EXPENSE, batch.codeOf(11), day(2025, 1, 1), Integer.MAX_VALUE, rows);
+        assertEquals(2, n);
+        assertEquals(4, batch.id(rows[0])); // 4.50 before 25.50
+        assertEquals(3, batch.id(rows[1]));
+        assertEquals(-1, batch.codeOf(99));
+    }
+
+    @Test
+    void testRowsByAmountBreaksTiesById() {
+        // Later rows get smaller ids, so within an amount the id order is the reverse of row order
+        TransactionBatch.Builder builder = new TransactionBatch.Builder();
+        for (int row = 0; row < 100; row++) {
+            builder.add(1_000 - row, TransactionType.EXPENSE, row % 7, day(2025, 1, 1) + row, food, null);
+        }
+        int[] byAmount = builder.build().rowsByAmount();
+
+        int[] expected = new int[100];
+        int k = 0;
+        for (int amount = 0; amount < 7; amount++) {
+            for (int row = 99; row >= 0; row--) {
+                if (row % 7 == amount) expected[k++] = row;
+            }
+        }
+        assertArrayEquals(expected, byAmount);
+    }
+
+    @Test
+    void testRejectsOutOfOrderRows() {
+        TransactionBatch.Builder builder = new TransactionBatch.Builder()
+                .add(5, TransactionType.EXPENSE, 1, day(2025, 1, 2), food, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.add(6, TransactionType.EXPENSE, 1, day(2025, 1, 1), food, null));
+    }
+}
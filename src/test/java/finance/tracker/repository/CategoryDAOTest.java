@@ -86,9 +86,8 @@ public class CategoryDAOTest {
         assertTrue(categoryDAO.insertCategory(category));
 
         Category inserted = categoryDAO.getAllByUser(TEST_USER_ID).get(0);
-        inserted.setCategoryName("Apparel");
-        inserted.setTransactionType(TransactionType.INCOME);
-        assertTrue(categoryDAO.updateCategory(inserted));
+        Category edited = inserted.withName("Apparel").withTransactionType(TransactionType.INCOME);
+        assertTrue(categoryDAO.updateCategory(edited));
 
         Category updated = categoryDAO.getById(inserted.getCategoryId());
         assertEquals("Apparel", updated.getCategoryName());
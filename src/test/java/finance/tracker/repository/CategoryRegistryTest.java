@@ -0,0 +1,29 @@
+package finance.tracker.repository;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CategoryRegistryTest {
+
+    @Test
+    void testSameValuesShareOneInstance() {
+        Category a = CategoryRegistry.intern(9001, new String("Food"), TransactionType.EXPENSE, 7);
+        Category b = CategoryRegistry.intern(9001, new String("Food"), TransactionType.EXPENSE, 7);
+        assertSame(a, b);
+        assertSame(a, CategoryRegistry.lookup(9001));
+    }
+
+    @Test
+    void testChangedRowReplacesCanonicalInstance() {
+        Category before = CategoryRegistry.intern(9002, "Food", TransactionType.EXPENSE, 7);
+        Category after = CategoryRegistry.intern(before.withName("Groceries"));
+        assertNotSame(before, after);
+        assertEquals("Groceries", CategoryRegistry.lookup(9002).getCategoryName());
+
+        CategoryRegistry.forget(9002);
+        assertNull(CategoryRegistry.lookup(9002));
+    }
+}
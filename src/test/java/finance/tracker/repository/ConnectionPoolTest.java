@@ -0,0 +1,150 @@
+package finance.tracker.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest {
+
+    /** Physical connection stand-in that records what the pool did to it. */
+    private static class FakeConnection {
+        boolean closed;
+        boolean autoCommit = true;
+        boolean valid = true;
+        int rollbacks;
+
+        final Connection connection = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> { closed = true; yield null; }
+                    case "isClosed" -> closed;
+                    case "isValid" -> valid && !closed;
+                    case "getAutoCommit" -> autoCommit;
+                    case "setAutoCommit" -> { autoCommit = (Boolean) args[0]; yield null; }
+                    case "rollback" -> { rollbacks++; yield null; }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "FakeConnection";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private ConnectionPool create(int min, int max, Duration idleTimeout) {
+        pool = new ConnectionPool(() -> {
+            FakeConnection fake = new FakeConnection();
+            opened.add(fake);
+            return fake.connection;
+        }, new ConnectionPool.Config()
+                .minSize(min)
+                .maxSize(max)
+                .acquireTimeout(Duration.ofMillis(50))
+                .idleTimeout(idleTimeout)
+                .leakThreshold(Duration.ZERO)
+                .housekeepingInterval(Duration.ofHours(1))); // tests call housekeep() themselves
+        return pool;
+    }
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) pool.close();
+    }
+
+    @Test
+    void testBorrowTimesOutWhenAllConnectionsAreHeld() throws SQLException {
+        ConnectionPool pool = create(0, 1, Duration.ofMinutes(5));
+        try (Connection held = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, pool::getConnection);
+        }
+        assertEquals(1L, pool.getStats().timeouts());
+    }
+
+    @Test
+    void testClosingAHandleTwiceReleasesItOnce() throws SQLException {
+        ConnectionPool pool = create(0, 1, Duration.ofMinutes(5));
+        Connection handle = pool.getConnection();
+        handle.close();
+        handle.close();
+        assertTrue(handle.isClosed());
+        assertThrows(SQLException.class, () -> handle.setAutoCommit(false));
+
+        // A second release would have left two permits for the single slot
+        try (Connection first = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, pool::getConnection);
+        }
+        assertEquals(1, opened.size());
+        assertFalse(opened.get(0).closed);
+    }
+
+    @Test
+    void testReturnedConnectionIsRolledBack() throws SQLException {
+        ConnectionPool pool = create(0, 1, Duration.ofMinutes(5));
+        try (Connection c = pool.getConnection()) {
+            c.setAutoCommit(false); // e.g. a DAO that threw before commit()
+        }
+        FakeConnection physical = opened.get(0);
+        assertEquals(1, physical.rollbacks);
+        assertTrue(physical.autoCommit);
+        assertEquals(1, pool.getStats().idle());
+    }
+
+    @Test
+    void testInvalidIdleConnectionIsReplacedOnBorrow() throws SQLException {
+        ConnectionPool pool = create(0, 2, Duration.ofMinutes(5));
+        pool.getConnection().close();
+        opened.get(0).valid = false; // e.g. the server dropped it while idle
+
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        assertEquals(2, opened.size());
+        assertTrue(opened.get(0).closed);
+        assertEquals(1L, pool.getStats().destroyed());
+        assertEquals(1, pool.getStats().total());
+    }
+
+    @Test
+    void testConnectionReturnedByAnInterruptedThreadIsDiscarded() throws SQLException {
+        ConnectionPool pool = create(0, 1, Duration.ofMinutes(5));
+        Connection c = pool.getConnection();
+        Thread.currentThread().interrupt(); // e.g. AsyncServices cancelling a timed-out call
+        try {
+            c.close();
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(opened.get(0).closed);
+        assertEquals(0, pool.getStats().idle());
+
+        try (Connection next = pool.getConnection()) { // the permit came back
+            assertEquals(2, opened.size());
+        }
+    }
+
+    @Test
+    void testIdleConnectionsAreEvictedDownToTheMinimum() throws SQLException, InterruptedException {
+        ConnectionPool pool = create(1, 3, Duration.ofMillis(1));
+        Connection a = pool.getConnection(), b = pool.getConnection(), c = pool.getConnection();
+        a.close();
+        b.close();
+        c.close();
+        assertEquals(3, pool.getStats().idle());
+
+        Thread.sleep(5);
+        pool.housekeep();
+        assertEquals(1, pool.getStats().idle());
+        assertEquals(2L, pool.getStats().destroyed());
+        assertEquals(3, opened.size()); // nothing reopened: the minimum was still met
+    }
+}
@@ -0,0 +1,41 @@
+package finance.tracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadDriverTest {
+
+    @Test
+    void testHistogramPercentilesWithinBucketPrecision() {
+        LoadDriver.Histogram h = new LoadDriver.Histogram();
+        for (long v = 1; v <= 10_000; v++) h.record(v);
+
+        assertEquals(10_000, h.count());
+        assertEquals(10_000, h.max());
+        assertEquals(5_000, h.percentile(50), 5_000 * 0.07);
+        assertEquals(9_900, h.percentile(99), 9_900 * 0.07);
+        assertTrue(h.percentile(50) >= 5_000, "a percentile is reported at its bucket's upper bound");
+        assertEquals(10_000, h.percentile(100));
+    }
+
+    @Test
+    void testBucketsCoverEveryValueExactlyOnce() {
+        for (long v = 1; v < 1_000_000; v++) {
+            int i = LoadDriver.Histogram.index(v);
+            assertTrue(v <= LoadDriver.Histogram.upperBound(i), "value " + v);
+            assertTrue(i == 0 || v > LoadDriver.Histogram.upperBound(i - 1), "value " + v);
+        }
+    }
+
+    @Test
+    void testParseMix() {
+        Map<LoadDriver.Route, Integer> mix = LoadDriver.parseMix("summary=3, page=1,POST=0");
+
+        assertEquals(Map.of(LoadDriver.Route.SUMMARY, 3, LoadDriver.Route.PAGE, 1, LoadDriver.Route.POST, 0), mix);
+        assertThrows(IllegalArgumentException.class, () -> LoadDriver.parseMix("summary"));
+        assertThrows(IllegalArgumentException.class, () -> LoadDriver.parseMix("unknown=1"));
+    }
+}
@@ -0,0 +1,35 @@
+package finance.tracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigratorTest {
+
+    @Test
+    void testMigrationsLoadInVersionOrder() {
+        List<SchemaMigrator.Migration> migrations = SchemaMigrator.load();
+        assertEquals(SchemaMigrator.MIGRATIONS.size(), migrations.size());
+        for (int i = 0; i < migrations.size(); i++) {
+            assertEquals(i + 1, migrations.get(i).version());
+            assertFalse(migrations.get(i).sql().isBlank());
+        }
+    }
+
+    @Test
+    void testChecksumIgnoresLineEndings() {
+        String sql = "CREATE TABLE t (id INT);\nCREATE INDEX ON t (id);\n";
+        assertEquals(SchemaMigrator.checksum(sql), SchemaMigrator.checksum(sql.replace("\n", "\r\n")));
+        assertNotEquals(SchemaMigrator.checksum(sql), SchemaMigrator.checksum(sql.replace("id)", "id DESC)")));
+    }
+
+    @Test
+    void testIndexesCoverTransactionAccessPaths() {
+        String indexes = SchemaMigrator.load().get(1).sql();
+        assertTrue(indexes.contains("ON transactions (user_id, date DESC, id DESC)"));
+        assertTrue(indexes.contains("ON transactions (user_id, type, date)"));
+        assertTrue(indexes.contains("ON category (user_id, name, type)"));
+    }
+}
@@ -0,0 +1,122 @@
+package finance.tracker.repository;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cold-start times of both entry points with and without the AOT caches from the
+ * {@code cds} profile, each in a fresh JVM:
+ * <ul>
+ *   <li>desktop: launch until {@code MainFrame} prints its startup line, i.e. the login
+ *       frame is visible (needs a display);</li>
+ *   <li>web: launch until {@code GET /} answers 200.</li>
+ * </ul>
+ * Build with {@code mvn -Pcds package}, then run
+ * {@code java -cp target/test-classes finance.tracker.repository.StartupBenchmark [runs] [desktop|web]}
+ * from the project directory.
+ */
+public class StartupBenchmark {
+    private static final Path TARGET = Path.of("target");
+    private static final String JAVA = ProcessHandle.current().info().command().orElse("java");
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String only = args.length > 1 ? args[1] : null;
+        Path jar;
+        try (var jars = Files.list(TARGET)) {
+            jar = jars.filter(p -> p.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in target/, run mvn -Pcds package first"));
+        }
+
+        if (only == null || only.equals("desktop")) {
+            compare("desktop, time to first frame", runs, TARGET.resolve("desktop.aot"),
+                    cache -> desktop(jar, cache));
+        }
+        if (only == null || only.equals("web")) {
+            compare("web, time to first response", runs, TARGET.resolve("web.aot"),
+                    cache -> web(jar, cache));
+        }
+    }
+
+    private interface Launch {
+        long millis(Path cache) throws Exception;
+    }
+
+    private static void compare(String label, int runs, Path cache, Launch launch) throws Exception {
+        System.out.println(label);
+        launch.millis(null); // warms the OS file cache so the first measured run isn't penalised
+        long without = median(runs, () -> launch.millis(null));
+        System.out.printf("  without AOT cache: %5d ms%n", without);
+        if (!Files.exists(cache)) {
+            System.out.println("  with AOT cache:    (" + cache + " missing)");
+            return;
+        }
+        long with = median(runs, () -> launch.millis(cache));
+        System.out.printf("  with AOT cache:    %5d ms  (%.0f%% faster)%n", with, 100.0 * (without - with) / without);
+    }
+
+    private interface Sample {
+        long get() throws Exception;
+    }
+
+    private static long median(int runs, Sample sample) throws Exception {
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) times[i] = sample.get();
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+
+    private static ProcessBuilder java(Path jar, Path cache, String mainClass) {
+        List<String> cmd = new ArrayList<>(List.of(JAVA));
+        if (cache != null) cmd.add("-XX:AOTCache=" + cache);
+        cmd.addAll(List.of("-cp", jar.toString(), mainClass));
+        return new ProcessBuilder(cmd).redirectErrorStream(true);
+    }
+
+    private static long desktop(Path jar, Path cache) throws Exception {
+        long start = System.nanoTime();
+        Process p = java(jar, cache, "finance.tracker.ui.MainFrame").start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            for (String line; (line = out.readLine()) != null; ) {
+                if (line.contains("Startup:")) return (System.nanoTime() - start) / 1_000_000;
+            }
+            throw new IllegalStateException("MainFrame exited before showing its frame");
+        } finally {
+            p.destroy();
+            p.waitFor();
+        }
+    }
+
+    private static long web(Path jar, Path cache) throws Exception {
+        long start = System.nanoTime();
+        Process p = java(jar, cache, "finance.tracker.repository.WebServer")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest ping = HttpRequest.newBuilder(URI.create("http://localhost:4567/")).build();
+        try {
+            while (p.isAlive()) {
+                try {
+                    if (client.send(ping, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (java.net.ConnectException notYet) {
+                    // server not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("WebServer exited with " + p.exitValue());
+        } finally {
+            p.destroy();
+            p.waitFor();
+        }
+    }
+}
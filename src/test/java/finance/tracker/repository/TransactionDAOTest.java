@@ -0,0 +1,217 @@
+package finance.tracker.repository;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.Money;
+import finance.tracker.model.MonthlySummary;
+import finance.tracker.model.TransactionFactory;
+import finance.tracker.model.TransactionFilter;
+import finance.tracker.model.TransactionSort;
+import finance.tracker.model.TransactionType;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionDAOTest {
+
+    private static Connection connection;
+    private static final AtomicInteger statementCount = new AtomicInteger();
+    private TransactionDAO transactionDAO;
+    private CategoryDAO categoryDAO;
+    private static final int TEST_USER_ID = 106;
+
+    @BeforeAll
+    static void initDB() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:postgresql://localhost:5432/finance_tracker", "postgres", "postgres");
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        transactionDAO = new TransactionDAO(countingConnection(connection));
+        categoryDAO = new CategoryDAO(connection);
+        Statement stmt = connection.createStatement();
+        stmt.execute("DELETE FROM monthly_rollup");
+        stmt.execute("DELETE FROM transactions");
+        stmt.execute("DELETE FROM category");
+        stmt.execute("DELETE FROM users");
+        stmt.execute("INSERT INTO users (id, email, username, password) VALUES (106,'test@gmail.com', 'testuser', 'password')");
+    }
+
+    @Test
+    void testGetAllByUserHydratesCategoryFromJoin() {
+        Category food = insertCategory("Food");
+        insertTransactions(food, 3);
+
+        List<BaseTransaction> transactions = transactionDAO.getAllByUser(TEST_USER_ID);
+        assertEquals(3, transactions.size());
+        assertEquals("Food", transactions.get(0).getCategory().getCategoryName());
+        assertEquals(TransactionType.EXPENSE, transactions.get(0).getCategory().getTransactionType());
+    }
+
+    @Test
+    void testGetAllByUserSharesCategoryInstances() {
+        Category food = insertCategory("Food");
+        Category rent = insertCategory("Rent");
+        insertTransactions(food, 5);
+        insertTransactions(rent, 5);
+
+        List<BaseTransaction> transactions = transactionDAO.getAllByUser(TEST_USER_ID);
+        long distinctInstances = transactions.stream()
+                .map(t -> System.identityHashCode(t.getCategory()))
+                .distinct()
+                .count();
+        assertEquals(2, distinctInstances);
+    }
+
+    @Test
+    void testQueryCountIsIndependentOfRowCount() {
+        Category food = insertCategory("Food");
+
+        insertTransactions(food, 1);
+        statementCount.set(0);
+        transactionDAO.getAllByUser(TEST_USER_ID);
+        transactionDAO.getAllTransactions();
+        int withOneRow = statementCount.get();
+
+        insertTransactions(food, 50);
+        statementCount.set(0);
+        transactionDAO.getAllByUser(TEST_USER_ID);
+        transactionDAO.getAllTransactions();
+        int withManyRows = statementCount.get();
+
+        assertEquals(2, withOneRow);
+        assertEquals(withOneRow, withManyRows);
+    }
+
+    @Test
+    void testGetMonthlySummaryInOneQuery() {
+        Category food = insertCategory("Food");
+        Category rent = insertCategory("Rent");
+        Category salary = insertCategory("Salary", TransactionType.INCOME);
+        insert(TransactionType.EXPENSE, "20", food, LocalDate.of(2025, 7, 3));
+        insert(TransactionType.EXPENSE, "30", food, LocalDate.of(2025, 7, 9));
+        insert(TransactionType.EXPENSE, "900", rent, LocalDate.of(2025, 7, 1));
+        insert(TransactionType.INCOME, "3000", salary, LocalDate.of(2025, 7, 25));
+        insert(TransactionType.EXPENSE, "999", rent, LocalDate.of(2025, 8, 1)); // next month
+
+        statementCount.set(0);
+        MonthlySummary summary = transactionDAO.getMonthlySummary(TEST_USER_ID, YearMonth.of(2025, 7));
+
+        assertEquals(1, statementCount.get());
+        assertEquals(0, new BigDecimal("3000").compareTo(summary.income()));
+        assertEquals(0, new BigDecimal("950").compareTo(summary.expense()));
+        assertEquals(2, summary.expenseByCategory().size());
+        assertEquals(0, new BigDecimal("50").compareTo(summary.expenseByCategory().get("Food")));
+        assertFalse(summary.expenseByCategory().containsKey("Salary"));
+    }
+
+    @Test
+    void testRollupFollowsUpdatesAndDeletes() throws SQLException {
+        Category food = insertCategory("Food");
+        Category rent = insertCategory("Rent");
+        insert(TransactionType.EXPENSE, "20", food, LocalDate.of(2025, 7, 3));
+        insert(TransactionType.EXPENSE, "900", rent, LocalDate.of(2025, 7, 1));
+
+        List<BaseTransaction> transactions = transactionDAO.getAllByUser(TEST_USER_ID);
+        BaseTransaction original = transactions.stream()
+                .filter(t -> t.getCategory().getCategoryName().equals("Food")).findFirst().orElseThrow();
+        BaseTransaction moved = TransactionFactory.createTransaction(
+                TransactionType.EXPENSE, Money.parse("25"), food, "moved", LocalDate.of(2025, 8, 2), TEST_USER_ID);
+        moved.setId(original.getId());
+        BaseTransaction foreign = TransactionFactory.createTransaction(
+                TransactionType.EXPENSE, Money.parse("25"), food, "moved", LocalDate.of(2025, 8, 2), TEST_USER_ID + 1);
+        foreign.setId(original.getId());
+        assertFalse(transactionDAO.updateTransaction(foreign)); // someone else's row: nothing written
+        assertTrue(transactionDAO.updateTransaction(moved));
+
+        int rentId = transactions.stream()
+                .filter(t -> t.getCategory().getCategoryName().equals("Rent")).findFirst().orElseThrow().getId();
+        assertTrue(transactionDAO.deleteTransaction(rentId));
+        assertFalse(transactionDAO.deleteTransaction(rentId));
+
+        assertEquals(0, transactionDAO.getMonthlySummary(TEST_USER_ID, YearMonth.of(2025, 7)).expense().signum());
+        assertEquals(0, new BigDecimal("25").compareTo(
+                transactionDAO.getTotalByUserAndTypeInMonth(TEST_USER_ID, TransactionType.EXPENSE, YearMonth.of(2025, 8))));
+        assertEquals(0, new MonthlyRollupDAO(new SingleConnectionDataSource(connection)).countDrift(TEST_USER_ID));
+    }
+
+    @Test
+    void testWindowsAreSortedInSqlAndMatchTheCount() {
+        Category food = insertCategory("Food");
+        insertTransactions(food, 25);
+        TransactionFilter july = new TransactionFilter(null, null, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 31));
+
+        assertEquals(25, transactionDAO.countByUser(TEST_USER_ID, july));
+        List<BaseTransaction> window = transactionDAO.getWindowByUser(TEST_USER_ID, july, TransactionSort.AMOUNT_DESC, 10, 10);
+        assertEquals(10, window.size());
+        assertEquals(1_014, window.get(0).getAmountMinor());
+        assertEquals(1_005, window.get(9).getAmountMinor());
+
+        List<BaseTransaction> tail = transactionDAO.getWindowByUser(TEST_USER_ID, july, TransactionSort.DATE_ASC, 20, 10);
+        assertEquals(5, tail.size());
+        assertFalse(tail.get(0).getDate().isAfter(tail.get(4).getDate()));
+
+        // Seeking from a known row lands where the plain offset does, in both directions
+        TransactionSort.Key edge = TransactionSort.AMOUNT_DESC.keyOf(window.get(9));
+        List<BaseTransaction> next = transactionDAO.getWindowByUser(TEST_USER_ID, july, TransactionSort.AMOUNT_DESC, edge, 2, 3);
+        assertEquals(1_002, next.get(0).getAmountMinor());
+        List<BaseTransaction> before = transactionDAO.getWindowByUser(TEST_USER_ID, july, TransactionSort.AMOUNT_ASC,
+                TransactionSort.AMOUNT_DESC.keyOf(window.get(0)), 0, 1);
+        assertEquals(1_015, before.get(0).getAmountMinor());
+    }
+
+    private Category insertCategory(String name) {
+        return insertCategory(name, TransactionType.EXPENSE);
+    }
+
+    private Category insertCategory(String name, TransactionType type) {
+        assertTrue(categoryDAO.insertCategory(new Category(0, name, type, TEST_USER_ID)));
+        return categoryDAO.findByNameTypeAndUserId(name, type, TEST_USER_ID);
+    }
+
+    private void insert(TransactionType type, String amount, Category category, LocalDate date) {
+        assertTrue(transactionDAO.insertTransaction(
+                TransactionFactory.createTransaction(type, Money.parse(amount), category, "test", date, TEST_USER_ID)));
+    }
+
+    private void insertTransactions(Category category, int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(transactionDAO.insertTransaction(TransactionFactory.createTransaction(
+                    TransactionType.EXPENSE, 1_000 + i, category, "tx " + i, LocalDate.of(2025, 7, 1).plusDays(i % 28), TEST_USER_ID)));
+        }
+    }
+
+    /** Wraps the connection so every statement the DAO prepares is counted. */
+    private static Connection countingConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                        statementCount.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null && !connection.isClosed()) {
+            connection.close();
+        }
+    }
+}
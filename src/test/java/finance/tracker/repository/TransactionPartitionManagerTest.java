@@ -0,0 +1,52 @@
+package finance.tracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionPartitionManagerTest {
+
+    @Test
+    void testParseBound() {
+        TransactionPartitionManager.Range range =
+                TransactionPartitionManager.parseBound("FOR VALUES FROM ('2025-07-01') TO ('2025-08-01')");
+        assertEquals(LocalDate.of(2025, 7, 1), range.from());
+        assertEquals(LocalDate.of(2025, 8, 1), range.to());
+        assertNull(TransactionPartitionManager.parseBound("DEFAULT"));
+    }
+
+    @Test
+    void testYearlyPeriodOverlapsExistingMonth() {
+        TransactionPartitionManager.Granularity year = TransactionPartitionManager.Granularity.YEAR;
+        LocalDate start = year.start(LocalDate.of(2025, 7, 14));
+        assertEquals(LocalDate.of(2025, 1, 1), start);
+        assertEquals("2025", year.suffix(start));
+
+        TransactionPartitionManager.Range july = new TransactionPartitionManager.Range(
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 8, 1));
+        assertTrue(july.overlaps(start, year.next(start)));
+        assertFalse(july.overlaps(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 9, 1)));
+    }
+
+    @Test
+    void testYearOverMonthlyPartitionsOnlyFillsTheGaps() {
+        // V4 left monthly partitions for Jul-Oct 2025; a YEAR manager then wants all of 2025
+        List<TransactionPartitionManager.Range> monthly = List.of(
+                range(2025, 7, 2025, 8), range(2025, 8, 2025, 9), range(2025, 9, 2025, 10), range(2025, 10, 2025, 11));
+
+        List<TransactionPartitionManager.Range> gaps =
+                TransactionPartitionManager.gaps(range(2025, 1, 2026, 1), monthly);
+
+        assertEquals(List.of(range(2025, 1, 2025, 7), range(2025, 11, 2026, 1)), gaps);
+        assertEquals(List.of(range(2026, 1, 2027, 1)),
+                TransactionPartitionManager.gaps(range(2026, 1, 2027, 1), monthly));
+        assertEquals(List.of(), TransactionPartitionManager.gaps(range(2025, 8, 2025, 9), monthly));
+    }
+
+    private static TransactionPartitionManager.Range range(int fromYear, int fromMonth, int toYear, int toMonth) {
+        return new TransactionPartitionManager.Range(LocalDate.of(fromYear, fromMonth, 1), LocalDate.of(toYear, toMonth, 1));
+    }
+}
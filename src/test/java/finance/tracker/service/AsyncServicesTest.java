@@ -0,0 +1,72 @@
+package finance.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncServicesTest {
+
+    @Test
+    void testRunsOnVirtualThreads() throws Exception {
+        try (AsyncServices async = new AsyncServices(null, null, null, Duration.ofSeconds(5))) {
+            assertTrue(async.submit(() -> Thread.currentThread().isVirtual()).get());
+        }
+    }
+
+    @Test
+    void testTimeoutInterruptsTheCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (AsyncServices async = new AsyncServices(null, null, null, Duration.ofSeconds(5))) {
+            CompletableFuture<String> slow = async.submit(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "done";
+            }, Duration.ofMillis(50));
+
+            ExecutionException e = assertThrows(ExecutionException.class, slow::get);
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testCancelInterruptsTheCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (AsyncServices async = new AsyncServices(null, null, null, Duration.ofSeconds(5))) {
+            CompletableFuture<String> call = async.submit(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "done";
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            call.cancel(true);
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testFailuresCompleteExceptionally() {
+        try (AsyncServices async = new AsyncServices(null, null, null, Duration.ofSeconds(5))) {
+            CompletableFuture<Object> call = async.submit(() -> {
+                throw new IllegalArgumentException("Amount must be positive");
+            });
+            ExecutionException e = assertThrows(ExecutionException.class, call::get);
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+}
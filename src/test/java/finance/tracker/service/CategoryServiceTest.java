@@ -0,0 +1,127 @@
+package finance.tracker.service;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.TransactionType;
+import finance.tracker.repository.CategoryDAO;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CategoryServiceTest {
+
+    /** In-memory stand-in for the DAO that counts how often it is queried. */
+    private static class FakeCategoryDAO extends CategoryDAO {
+        final List<Category> rows = new ArrayList<>();
+        int queries;
+        Runnable afterListRead = () -> {}; // runs between reading a list and returning it
+
+        FakeCategoryDAO() {
+            super((DataSource) null);
+        }
+
+        @Override
+        public List<Category> getCategoriesForUser(int userId) {
+            queries++;
+            List<Category> list = rows.stream().filter(c -> c.getUserId() == userId || c.getUserId() == 0).toList();
+            afterListRead.run();
+            return list;
+        }
+
+        @Override
+        public Category getById(int categoryId) {
+            queries++;
+            return rows.stream().filter(c -> c.getCategoryId() == categoryId).findFirst()
+                    .map(c -> new Category(c.getCategoryId(), c.getCategoryName(), c.getTransactionType(), c.getUserId()))
+                    .orElse(null);
+        }
+
+        @Override
+        public boolean insertCategory(Category category) {
+            rows.add(new Category(rows.size() + 1, category.getCategoryName(), category.getTransactionType(), category.getUserId()));
+            return true;
+        }
+
+        @Override
+        public boolean updateCategory(Category category) {
+            rows.replaceAll(c -> c.getCategoryId() == category.getCategoryId() ? category : c);
+            return true;
+        }
+    }
+
+    private final FakeCategoryDAO dao = new FakeCategoryDAO();
+    private final CategoryService service = new CategoryService(dao, 100, Duration.ofMinutes(1));
+
+    @Test
+    void testRepeatedReadsHitTheCache() {
+        service.addCategory(new Category(0, "Food", TransactionType.EXPENSE, 7));
+
+        service.getCategoriesForUser(7);
+        service.getCategoriesForUser(7);
+        Category food = service.getById(1); // seeded by the list load
+
+        assertEquals("Food", food.getCategoryName());
+        assertEquals(1, dao.queries);
+        assertEquals(2, service.getCacheStats().hits());
+    }
+
+    @Test
+    void testWritesInvalidateAffectedEntries() {
+        service.addCategory(new Category(0, "Food", TransactionType.EXPENSE, 7));
+        assertEquals(1, service.getCategoriesForUser(7).size());
+
+        service.addCategory(new Category(0, "Rent", TransactionType.EXPENSE, 7));
+        assertEquals(2, service.getCategoriesForUser(7).size());
+
+        service.updateCategory(service.getById(1).withName("Groceries"));
+        assertEquals("Groceries", service.getById(1).getCategoryName());
+        assertEquals("Groceries", service.getCategoriesForUser(7).get(0).getCategoryName());
+    }
+
+    @Test
+    void testListLoadRacingAnUpdateDoesNotSeedStaleEntries() {
+        service.addCategory(new Category(0, "Food", TransactionType.EXPENSE, 7));
+        dao.afterListRead = () -> {
+            dao.afterListRead = () -> {};
+            service.updateCategory(new Category(1, "Groceries", TransactionType.EXPENSE, 7));
+        };
+
+        service.getCategoriesForUser(7); // read "Food" just before the rename
+
+        assertEquals("Groceries", service.getById(1).getCategoryName());
+        assertEquals("Groceries", service.getCategoriesForUser(7).get(0).getCategoryName());
+    }
+
+    @Test
+    void testLruEvictsOldestEntry() {
+        LruCache<Integer, String> cache = new LruCache<>(2, Duration.ofMinutes(1));
+        cache.get(1, k -> "one");
+        cache.get(2, k -> "two");
+        cache.get(1, k -> "one");   // 1 is now most recently used
+        cache.get(3, k -> "three"); // evicts 2
+
+        assertEquals("two", cache.get(2, k -> "two"));
+        assertEquals(2, cache.stats().evictions());
+        assertEquals(4, cache.stats().misses());
+    }
+
+    @Test
+    void testInvalidationOnlyDiscardsLoadsOfThatKey() {
+        LruCache<Integer, String> cache = new LruCache<>(10, Duration.ofMinutes(1));
+        cache.get(1, k -> {
+            cache.invalidate(2); // unrelated key: the load of 1 is still cached
+            return "one";
+        });
+        cache.get(3, k -> {
+            cache.invalidate(3); // written while loading: the loaded value may be stale
+            return "three";
+        });
+
+        assertEquals("one", cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(3));
+    }
+}
@@ -0,0 +1,69 @@
+package finance.tracker.service;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.TransactionBatch;
+import finance.tracker.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportEngineTest {
+
+    static TransactionBatch syntheticBatch(int rows, LocalDate start, int days) {
+        Category[] categories = new Category[12];
+        for (int c = 0; c < categories.length; c++) {
+            TransactionType type = c == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            categories[c] = new Category(9100 + c, "Category " + c, type, 1);
+        }
+        TransactionBatch.Builder builder = new TransactionBatch.Builder(rows);
+        int firstDay = (int) start.toEpochDay();
+        for (int i = 0; i < rows; i++) {
+            int c = (i * 7) % categories.length;
+            TransactionType type = c == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            builder.add(i + 1, type, 100 + (i * 31L) % 10_000, firstDay + (int) ((long) i * days / rows),
+                    categories[c], "tx " + (i % 50));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        TransactionBatch batch = syntheticBatch(50_000, LocalDate.of(2023, 1, 1), 3 * 365);
+        YearMonth first = YearMonth.of(2023, 1);
+        try (ReportEngine sequential = new ReportEngine(null, 1, Integer.MAX_VALUE);
+             ReportEngine parallel = new ReportEngine(null, 4, 1_000)) {
+            ReportEngine.Report expected = sequential.compute(batch, first, 36);
+            ReportEngine.Report actual = parallel.compute(batch, first, 36);
+            assertArrayEquals(expected.cube(), actual.cube());
+
+            long expense = 0, income = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.type(i) == TransactionType.INCOME) income += batch.amountMinor(i);
+                else expense += batch.amountMinor(i);
+            }
+            assertEquals(income, actual.grandTotal(TransactionType.INCOME));
+            assertEquals(expense, actual.grandTotal(TransactionType.EXPENSE));
+        }
+    }
+
+    @Test
+    void testWindowSkipsRowsOutsideRange() {
+        Category food = new Category(9120, "Food", TransactionType.EXPENSE, 1);
+        TransactionBatch batch = new TransactionBatch.Builder()
+                .add(1, TransactionType.EXPENSE, 500, (int) LocalDate.of(2024, 12, 31).toEpochDay(), food, "")
+                .add(2, TransactionType.EXPENSE, 700, (int) LocalDate.of(2025, 1, 15).toEpochDay(), food, "")
+                .add(3, TransactionType.EXPENSE, 900, (int) LocalDate.of(2025, 3, 2).toEpochDay(), food, "")
+                .add(4, TransactionType.EXPENSE, 300, (int) LocalDate.of(2025, 4, 1).toEpochDay(), food, "")
+                .build();
+        try (ReportEngine engine = new ReportEngine(null, 2, 1)) {
+            ReportEngine.Report report = engine.compute(batch, YearMonth.of(2025, 1), 3);
+            assertEquals(700, report.monthTotal(0, TransactionType.EXPENSE));
+            assertEquals(0, report.monthTotal(1, TransactionType.EXPENSE));
+            assertEquals(900, report.monthTotal(2, TransactionType.EXPENSE));
+            assertEquals(1_600, report.categoryTotal(0, TransactionType.EXPENSE));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package finance.tracker.service;
+
+import finance.tracker.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementParserTest {
+
+    private final List<String> rejects = new ArrayList<>();
+
+    private List<StatementParser.Line> parse(String text, StatementParser.Format format) {
+        Iterator<StatementParser.Line> it = StatementParser.parse(
+                new BufferedReader(new StringReader(text)), format, rejects::add);
+        List<StatementParser.Line> lines = new ArrayList<>();
+        it.forEachRemaining(lines::add);
+        return lines;
+    }
+
+    @Test
+    void testCsvWithQuotedFieldsAndOptionalColumns() {
+        String csv = """
+                Date,Description,Amount,Category,Type
+                2025-07-01,"Coffee, large",-4.50,Food,
+                2025-07-02,Salary,3000,,income
+                """;
+        List<StatementParser.Line> lines = parse(csv, StatementParser.Format.CSV);
+
+        assertEquals(2, lines.size());
+        assertEquals("Coffee, large", lines.get(0).description());
+        assertEquals(new BigDecimal("-4.50"), lines.get(0).amount());
+        assertEquals("Food", lines.get(0).category());
+        assertNull(lines.get(0).type());
+        assertNull(lines.get(1).category());
+        assertEquals(TransactionType.INCOME, lines.get(1).type());
+        assertTrue(rejects.isEmpty());
+    }
+
+    @Test
+    void testCsvRejectsMalformedRowsAndContinues() {
+        String csv = """
+                date,description,amount
+                not-a-date,Broken,1
+                20250703,Rent,-1200
+                """;
+        List<StatementParser.Line> lines = parse(csv, StatementParser.Format.CSV);
+
+        assertEquals(1, lines.size());
+        assertEquals(LocalDate.of(2025, 7, 3), lines.get(0).date());
+        assertEquals(1, rejects.size());
+        assertTrue(rejects.get(0).startsWith("line 2"));
+    }
+
+    @Test
+    void testCsvWithoutRequiredHeaderFails() {
+        assertThrows(IllegalArgumentException.class,
+                () -> parse("when,what\n2025-07-01,x\n", StatementParser.Format.CSV));
+    }
+
+    @Test
+    void testOfxTransactions() {
+        String ofx = """
+                OFXHEADER:100
+                <OFX>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20250701120000
+                <TRNAMT>-12.34
+                <NAME>SHOP
+                <MEMO>card</MEMO>
+                </STMTTRN>
+                </OFX>
+                """;
+        List<StatementParser.Line> lines = parse(ofx, StatementParser.Format.OFX);
+
+        assertEquals(1, lines.size());
+        assertEquals(LocalDate.of(2025, 7, 1), lines.get(0).date());
+        assertEquals(new BigDecimal("-12.34"), lines.get(0).amount());
+        assertEquals("SHOP card", lines.get(0).description());
+    }
+
+    @Test
+    void testDetectFormat() {
+        assertEquals(StatementParser.Format.OFX, StatementParser.detectFormat("july.QFX"));
+        assertEquals(StatementParser.Format.CSV, StatementParser.detectFormat("july.csv"));
+    }
+}
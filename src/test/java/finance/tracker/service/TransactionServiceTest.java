@@ -0,0 +1,55 @@
+package finance.tracker.service;
+
+import finance.tracker.model.BaseTransaction;
+import finance.tracker.model.Category;
+import finance.tracker.model.InsertOutcome;
+import finance.tracker.model.Transaction;
+import finance.tracker.model.TransactionType;
+import finance.tracker.repository.TransactionDAO;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionServiceTest {
+
+    /** Records what reaches the database and reports every row as inserted. */
+    private static class FakeTransactionDAO extends TransactionDAO {
+        final List<Transaction> inserted = new ArrayList<>();
+
+        FakeTransactionDAO() {
+            super((DataSource) null);
+        }
+
+        @Override
+        public List<InsertOutcome> insertTransactions(Collection<? extends Transaction> transactions) {
+            inserted.addAll(transactions);
+            return new ArrayList<>(Collections.nCopies(transactions.size(), InsertOutcome.INSERTED));
+        }
+    }
+
+    @Test
+    void testBulkRowsWithoutTypeOrDateAreInvalidNotFatal() {
+        FakeTransactionDAO dao = new FakeTransactionDAO();
+        TransactionService service = new TransactionService(dao);
+        Category food = new Category(1, "Food", TransactionType.EXPENSE, 1);
+        LocalDate day = LocalDate.of(2025, 7, 1);
+
+        BaseTransaction ok = new BaseTransaction(TransactionType.EXPENSE, 500, food, "Lunch", day, 1);
+        BaseTransaction noType = new BaseTransaction(null, 500, food, "Lunch", day, 1);
+        BaseTransaction noDate = new BaseTransaction(TransactionType.EXPENSE, 500, food, "Lunch", null, 1);
+
+        List<InsertOutcome> outcomes = service.addTransactions(Arrays.asList(noType, ok, null, noDate));
+
+        assertEquals(List.of(InsertOutcome.INVALID, InsertOutcome.INSERTED, InsertOutcome.INVALID, InsertOutcome.INVALID),
+                outcomes);
+        assertEquals(List.of(ok), dao.inserted);
+    }
+}
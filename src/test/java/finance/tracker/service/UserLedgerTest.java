@@ -0,0 +1,58 @@
+package finance.tracker.service;
+
+import finance.tracker.model.Category;
+import finance.tracker.model.Money;
+import finance.tracker.model.MonthlySummary;
+import finance.tracker.model.TransactionFactory;
+import finance.tracker.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserLedgerTest {
+
+    private final Category food = new Category(1, "Food", TransactionType.EXPENSE, 7);
+    private final Category rent = new Category(2, "Rent", TransactionType.EXPENSE, 7);
+    private final Category salary = new Category(3, "Salary", TransactionType.INCOME, 7);
+    private final UserLedger ledger = new UserLedger();
+
+    private boolean add(int id, TransactionType type, String amount, Category category, LocalDate date) {
+        return ledger.add(id, TransactionFactory.createTransaction(type, Money.parse(amount), category, "test", date, 7));
+    }
+
+    @Test
+    void testSummaryMatchesSqlShape() {
+        add(1, TransactionType.EXPENSE, "20.10", food, LocalDate.of(2025, 7, 3));
+        add(2, TransactionType.EXPENSE, "29.90", food, LocalDate.of(2025, 7, 9));
+        add(3, TransactionType.EXPENSE, "900", rent, LocalDate.of(2025, 7, 1));
+        add(4, TransactionType.INCOME, "3000", salary, LocalDate.of(2025, 7, 25));
+        add(5, TransactionType.EXPENSE, "999", rent, LocalDate.of(2025, 8, 1));
+
+        MonthlySummary july = ledger.summary(YearMonth.of(2025, 7));
+        assertEquals(new BigDecimal("3000.00"), july.income());
+        assertEquals(new BigDecimal("950.00"), july.expense());
+        assertEquals(List.of("Rent", "Food"), List.copyOf(july.expenseByCategory().keySet()));
+        assertEquals(new BigDecimal("50.00"), july.expenseByCategory().get("Food"));
+        assertEquals(new BigDecimal("999.00"), ledger.total(TransactionType.EXPENSE, YearMonth.of(2025, 8)));
+    }
+
+    @Test
+    void testDuplicateIdsAreIgnoredAndRemoveUndoesAggregates() {
+        assertTrue(add(1, TransactionType.EXPENSE, "20", food, LocalDate.of(2025, 7, 3)));
+        assertFalse(add(1, TransactionType.EXPENSE, "20", food, LocalDate.of(2025, 7, 3)));
+        for (int id = 2; id <= 200; id++) {
+            add(id, TransactionType.EXPENSE, "1", rent, LocalDate.of(2025, 7, 1 + id % 28));
+        }
+        assertEquals(200, ledger.size());
+
+        assertTrue(ledger.remove(1));
+        assertFalse(ledger.remove(1));
+        assertEquals(new BigDecimal("199.00"), ledger.total(TransactionType.EXPENSE, YearMonth.of(2025, 7)));
+        assertFalse(ledger.summary(YearMonth.of(2025, 7)).expenseByCategory().containsKey("Food"));
+    }
+}